@@ -0,0 +1,6 @@
+-- Event details rendered into the message body; buffered events keep those of their latest event
+ALTER TABLE notification_coalesce
+    ADD COLUMN IF NOT EXISTS scheduled_at TIMESTAMP,
+    ADD COLUMN IF NOT EXISTS number_of_people INT,
+    ADD COLUMN IF NOT EXISTS reason TEXT,
+    ADD COLUMN IF NOT EXISTS cancel_date TIMESTAMP;
@@ -0,0 +1,2 @@
+-- Channel each message is delivered through; existing messages were all email
+ALTER TABLE notification_outbox ADD COLUMN IF NOT EXISTS channel VARCHAR(50) NOT NULL DEFAULT 'email';
@@ -0,0 +1,7 @@
+-- Dispatch lane each message is queued in; rows written before lanes existed drain through the default lane
+ALTER TABLE notification_outbox ADD COLUMN IF NOT EXISTS lane VARCHAR(50) NOT NULL DEFAULT 'default';
+
+-- Each lane is claimed separately, oldest deliverable rows first
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_lane_deliverable
+    ON notification_outbox(lane, available_at)
+    WHERE status IN ('PENDING', 'PROCESSING');
@@ -0,0 +1,8 @@
+-- Serve GET /api/v1/notifications/search: each filter leads an index that also yields rows in keyset order
+CREATE INDEX IF NOT EXISTS idx_notification_status_sent_at_id ON notification(status, sent_at, id);
+CREATE INDEX IF NOT EXISTS idx_notification_event_type_sent_at_id ON notification(event_type, sent_at, id);
+
+-- Exact and prefix lookups on the lower-cased recipient; text_pattern_ops lets LIKE 'prefix%' use the index
+-- whatever the database collation
+CREATE INDEX IF NOT EXISTS idx_notification_recipient_sent_at_id
+    ON notification(lower(recipient) text_pattern_ops, sent_at, id);
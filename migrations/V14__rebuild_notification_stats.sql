@@ -0,0 +1,14 @@
+-- Stats deltas are buffered in memory, so a crash could lose some, and recent hours are now recounted
+-- periodically; rebuild the whole rollup once from the rows it describes to drop any older drift.
+-- One statement, so the lock holds until the rebuild commits whether or not the runner wraps it in a transaction.
+DO $$
+BEGIN
+    LOCK TABLE notification_stats IN EXCLUSIVE MODE;
+
+    DELETE FROM notification_stats;
+
+    INSERT INTO notification_stats (bucket_hour, event_type, status, count)
+    SELECT date_trunc('hour', sent_at), event_type, status, count(*)
+    FROM notification
+    GROUP BY 1, 2, 3;
+END $$;
@@ -0,0 +1,22 @@
+-- Replays used to live in the memory of the instance that ran them: their progress was lost on restart and
+-- their records stayed REPLAYING forever if it died. Each replay is now a row whose heartbeat shows it is alive.
+CREATE TABLE IF NOT EXISTS dead_letter_replay (
+    id UUID PRIMARY KEY,
+    state VARCHAR(20) NOT NULL,
+    total INT NOT NULL,
+    replayed INT NOT NULL DEFAULT 0,
+    failed INT NOT NULL DEFAULT 0,
+    started_at TIMESTAMP NOT NULL,
+    heartbeat_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_dead_letter_replay_running ON dead_letter_replay(heartbeat_at) WHERE state = 'RUNNING';
+
+ALTER TABLE dead_letter ADD COLUMN IF NOT EXISTS replay_id UUID;
+
+CREATE INDEX IF NOT EXISTS idx_dead_letter_replay_id ON dead_letter(replay_id) WHERE status = 'REPLAYING';
+
+-- Records claimed before this migration belong to no replay that could finish them; replaying one twice is
+-- caught by the duplicate check
+UPDATE dead_letter SET status = 'NEW' WHERE status = 'REPLAYING';
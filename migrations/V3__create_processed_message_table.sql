@@ -0,0 +1,7 @@
+CREATE TABLE IF NOT EXISTS processed_message (
+    message_id UUID PRIMARY KEY,
+    topic VARCHAR(255) NOT NULL,
+    processed_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_processed_message_processed_at ON processed_message(processed_at);
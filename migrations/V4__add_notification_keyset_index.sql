@@ -0,0 +1,2 @@
+-- Serves keyset pagination and the streaming export, both ordered by (sent_at, id)
+CREATE INDEX IF NOT EXISTS idx_notification_sent_at_id ON notification(sent_at, id);
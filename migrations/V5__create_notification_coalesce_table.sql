@@ -0,0 +1,11 @@
+-- Reservation events waiting out the coalescing window; one row per reservation holds its latest state
+CREATE TABLE IF NOT EXISTS notification_coalesce (
+    reservation_id UUID PRIMARY KEY,
+    event_type VARCHAR(50) NOT NULL,
+    recipient VARCHAR(255) NOT NULL,
+    event_at TIMESTAMP NOT NULL,
+    event_count INT NOT NULL,
+    flush_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_notification_coalesce_flush_at ON notification_coalesce(flush_at);
@@ -0,0 +1,24 @@
+CREATE TABLE IF NOT EXISTS dead_letter (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    topic VARCHAR(255) NOT NULL,
+    dlt_topic VARCHAR(255) NOT NULL,
+    dlt_partition INT NOT NULL,
+    dlt_offset BIGINT NOT NULL,
+    original_partition INT,
+    original_offset BIGINT,
+    message_key VARCHAR(255),
+    message_id UUID,
+    payload TEXT,
+    exception_class VARCHAR(255),
+    exception_message TEXT,
+    attempts INT,
+    failed_at TIMESTAMP NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    replayed_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_dead_letter_status_failed_at ON dead_letter(status, failed_at);
+CREATE INDEX IF NOT EXISTS idx_dead_letter_topic_failed_at ON dead_letter(topic, failed_at);
+CREATE INDEX IF NOT EXISTS idx_dead_letter_message_id ON dead_letter(message_id);
+-- A redelivered DLT record must not be stored twice
+CREATE UNIQUE INDEX IF NOT EXISTS uq_dead_letter_dlt_position ON dead_letter(dlt_topic, dlt_partition, dlt_offset);
@@ -0,0 +1,48 @@
+-- Range-partition notification by month of sent_at, so retention drops whole partitions instead of
+-- deleting rows and queries bounded on sent_at only touch the partitions they need.
+-- Partitions ahead of time are created by NotificationPartitionMaintenance; this migration covers
+-- existing rows and the next three months.
+
+ALTER TABLE notification RENAME TO notification_unpartitioned;
+ALTER TABLE notification_unpartitioned RENAME CONSTRAINT notification_pkey TO notification_unpartitioned_pkey;
+ALTER INDEX IF EXISTS idx_notification_reservation_id RENAME TO idx_notification_unpartitioned_reservation_id;
+ALTER INDEX IF EXISTS idx_notification_sent_at_id RENAME TO idx_notification_unpartitioned_sent_at_id;
+
+CREATE TABLE notification (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    reservation_id UUID NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    recipient VARCHAR(255) NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    sent_at TIMESTAMP NOT NULL DEFAULT now(),
+    -- The partition key must be part of every unique constraint
+    PRIMARY KEY (id, sent_at)
+) PARTITION BY RANGE (sent_at);
+
+-- Safety net for rows outside every partition; maintenance keeps it empty
+CREATE TABLE notification_default PARTITION OF notification DEFAULT;
+
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month', LEAST(
+            (SELECT min(sent_at) FROM notification_unpartitioned), now()));
+    last_month DATE := date_trunc('month', now() + INTERVAL '3 months');
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF notification FOR VALUES FROM (%L) TO (%L)',
+                       'notification_p' || to_char(month_start, 'YYYYMM'),
+                       month_start, (month_start + INTERVAL '1 month')::date);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO notification (id, reservation_id, event_type, recipient, status, sent_at)
+SELECT id, reservation_id, event_type, recipient, status, COALESCE(sent_at, now())
+FROM notification_unpartitioned;
+
+DROP TABLE notification_unpartitioned;
+
+-- Declared on the parent, created on every partition (current and future)
+CREATE INDEX IF NOT EXISTS idx_notification_reservation_id ON notification(reservation_id);
+CREATE INDEX IF NOT EXISTS idx_notification_sent_at_id ON notification(sent_at, id);
+CREATE INDEX IF NOT EXISTS idx_notification_id ON notification(id);
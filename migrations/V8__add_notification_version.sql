@@ -0,0 +1,3 @@
+-- Optimistic-locking version, exposed to clients as the ETag of a notification.
+-- Adding a column with a constant default is metadata-only and propagates to every partition.
+ALTER TABLE notification ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
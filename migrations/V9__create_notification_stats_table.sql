@@ -0,0 +1,16 @@
+-- Notification counts per hour of sent_at, event type and status. Instances add their buffered
+-- deltas with upserts, so stats queries read buckets instead of scanning notification.
+CREATE TABLE IF NOT EXISTS notification_stats (
+    bucket_hour TIMESTAMP NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    count BIGINT NOT NULL,
+    PRIMARY KEY (bucket_hour, event_type, status)
+);
+
+-- Seed from the rows that exist before the counters start
+INSERT INTO notification_stats (bucket_hour, event_type, status, count)
+SELECT date_trunc('hour', sent_at), event_type, status, count(*)
+FROM notification
+GROUP BY 1, 2, 3
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,65 @@
+package pt.nelsonalmeida.notification.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import pt.nelsonalmeida.notification.dto.MessageEnvelope;
+import pt.nelsonalmeida.notification.dto.ReservationEventType;
+import pt.nelsonalmeida.notification.events.ReservationTopics;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Envelopes shaped like the ones the reservation service publishes, one per event type.
+ */
+final class EventFixtures {
+
+    static final ReservationTopics TOPICS = new ReservationTopics(
+            "reservation-created-events-topic",
+            "reservation-confirmed-events-topic",
+            "reservation-cancelled-events-topic");
+
+    private EventFixtures() {
+    }
+
+    /**
+     * Same configuration as the application's auto-configured mapper (JSR-310 module, no timestamp dates).
+     */
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    static String json(ReservationEventType type) {
+        String payload = switch (type) {
+            case CREATED -> """
+                    {"reservationId":"%s","restaurantId":"%s","customerEmail":"ana.silva@example.com"}
+                    """;
+            case CONFIRMED -> """
+                    {"reservationId":"%s","restaurantId":"%s","scheduledAt":"2025-03-02T20:00:00",
+                     "numberOfPeople":4,"customerEmail":"ana.silva@example.com"}
+                    """;
+            case CANCELLED -> """
+                    {"reservationId":"%s","restaurantId":"%s","scheduledAt":"2025-03-02T20:00:00",
+                     "numberOfPeople":4,"customerEmail":"ana.silva@example.com",
+                     "reason":"Customer requested cancellation","cancelDate":"2025-03-01T18:42:10"}
+                    """;
+        };
+        return """
+                {"messageId":"%s","type":"%s","timestamp":"2025-03-01T18:42:11.123Z",
+                 "correlationId":"%s","causationId":"%s","payload":%s}
+                """.formatted(UUID.randomUUID(), type.name(), UUID.randomUUID(), UUID.randomUUID(),
+                payload.formatted(UUID.randomUUID(), UUID.randomUUID()).strip());
+    }
+
+    /**
+     * The envelope as a generic deserializer leaves it, with the payload still a map.
+     */
+    @SuppressWarnings("unchecked")
+    static MessageEnvelope<Map<String, Object>> untypedEnvelope(ObjectMapper objectMapper, ReservationEventType type) {
+        try {
+            return objectMapper.readValue(json(type), MessageEnvelope.class);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package pt.nelsonalmeida.notification.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import pt.nelsonalmeida.notification.util.MappedFileAppender;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Messages per second the local sink's file can absorb from concurrent dispatcher threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class MappedFileAppenderBenchmark {
+
+    private Path file;
+    private MappedFileAppender appender;
+    private byte[] record;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("notification-sink", ".log");
+        appender = new MappedFileAppender(file, 64L * 1024 * 1024);
+        record = ("1741982400000\tana.silva@example.com\tYour reservation " + UUID.randomUUID()
+                + " is confirmed for 4 people on 14 March 2025, 20:30.\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        appender.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void append() {
+        appender.append(record);
+    }
+}
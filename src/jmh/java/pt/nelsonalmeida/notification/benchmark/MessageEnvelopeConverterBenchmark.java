@@ -0,0 +1,61 @@
+package pt.nelsonalmeida.notification.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pt.nelsonalmeida.notification.dto.MessageEnvelope;
+import pt.nelsonalmeida.notification.dto.ReservationEventType;
+import pt.nelsonalmeida.notification.util.MessageEnvelopeConverter;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class MessageEnvelopeConverterBenchmark {
+
+    @Param({"CREATED", "CONFIRMED", "CANCELLED"})
+    public ReservationEventType eventType;
+
+    private MessageEnvelopeConverter converter;
+    private String json;
+    private MessageEnvelope<Map<String, Object>> untyped;
+    private Class<?> payloadType;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = EventFixtures.objectMapper();
+        converter = new MessageEnvelopeConverter(objectMapper);
+        json = EventFixtures.json(eventType);
+        untyped = EventFixtures.untypedEnvelope(objectMapper, eventType);
+        payloadType = eventType.getPayloadType();
+    }
+
+    @Benchmark
+    public MessageEnvelope<?> convertFromJson() {
+        return converter.convertFromJson(json, payloadType);
+    }
+
+    @Benchmark
+    public MessageEnvelope<?> convertPayload() {
+        return converter.convertPayload(untyped, payloadType);
+    }
+
+    @Benchmark
+    public Object extractPayload() {
+        return converter.extractPayload(untyped, payloadType);
+    }
+}
@@ -0,0 +1,80 @@
+package pt.nelsonalmeida.notification.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pt.nelsonalmeida.notification.config.TemplateProperties;
+import pt.nelsonalmeida.notification.dto.NotificationRequest;
+import pt.nelsonalmeida.notification.service.MessageTemplateService;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Message body rendering: the former {@code String.format} body against the compiled templates, both
+ * for the generic body ({@code default.txt} renders the same text) and a confirmed reservation with details.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class MessageTemplateBenchmark {
+
+    private final MessageTemplateService templates = new MessageTemplateService(new TemplateProperties());
+    private NotificationRequest generic;
+    private NotificationRequest confirmed;
+    private NotificationRequest confirmedPt;
+
+    @Setup
+    public void setUp() {
+        UUID reservationId = UUID.randomUUID();
+        generic = NotificationRequest.builder()
+                .reservationId(reservationId)
+                .eventType("RESCHEDULED")
+                .recipient("ana.silva@example.com")
+                .build();
+        confirmed = confirmed(reservationId, null);
+        confirmedPt = confirmed(reservationId, "pt-PT");
+    }
+
+    private static NotificationRequest confirmed(UUID reservationId, String locale) {
+        return NotificationRequest.builder()
+                .reservationId(reservationId)
+                .eventType("CONFIRMED")
+                .recipient("ana.silva@example.com")
+                .scheduledAt(LocalDateTime.of(2025, 3, 14, 20, 30))
+                .numberOfPeople(4)
+                .locale(locale)
+                .build();
+    }
+
+    @Benchmark
+    public String stringFormat() {
+        return String.format("Update on reservation %s: %s", generic.getReservationId(), generic.getEventType());
+    }
+
+    @Benchmark
+    public String renderDefault() {
+        return templates.render(generic);
+    }
+
+    @Benchmark
+    public String renderConfirmed() {
+        return templates.render(confirmed);
+    }
+
+    @Benchmark
+    public String renderConfirmedLocalized() {
+        return templates.render(confirmedPt);
+    }
+}
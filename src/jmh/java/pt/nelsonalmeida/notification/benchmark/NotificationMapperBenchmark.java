@@ -0,0 +1,60 @@
+package pt.nelsonalmeida.notification.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pt.nelsonalmeida.notification.dto.NotificationRequest;
+import pt.nelsonalmeida.notification.dto.NotificationResponse;
+import pt.nelsonalmeida.notification.mapper.NotificationMapper;
+import pt.nelsonalmeida.notification.model.Notification;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class NotificationMapperBenchmark {
+
+    private final NotificationMapper mapper = new NotificationMapper();
+    private NotificationRequest request;
+    private Notification notification;
+
+    @Setup
+    public void setUp() {
+        request = NotificationRequest.builder()
+                .reservationId(UUID.randomUUID())
+                .eventType("CONFIRMED")
+                .recipient("ana.silva@example.com")
+                .build();
+        notification = Notification.builder()
+                .id(UUID.randomUUID())
+                .reservationId(request.getReservationId())
+                .eventType(request.getEventType())
+                .recipient(request.getRecipient())
+                .status("SENT")
+                .sentAt(LocalDateTime.of(2025, 3, 1, 18, 42, 11))
+                .build();
+    }
+
+    @Benchmark
+    public Notification toEntity() {
+        return mapper.toEntity(request);
+    }
+
+    @Benchmark
+    public NotificationResponse toResponse() {
+        return mapper.toResponse(notification);
+    }
+}
@@ -0,0 +1,89 @@
+package pt.nelsonalmeida.notification.benchmark;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pt.nelsonalmeida.notification.dto.ReservationEventType;
+import pt.nelsonalmeida.notification.events.DecodedReservationEvent;
+import pt.nelsonalmeida.notification.events.ReservationEventDispatcher;
+import pt.nelsonalmeida.notification.service.PipelineMetrics;
+import pt.nelsonalmeida.notification.util.ReservationEventDecoder;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the pipeline metrics per record. Each benchmark runs with {@code instrumented=true}, on a registry
+ * with the application's meters (percentile histograms included), and {@code instrumented=false}, where a deny-all
+ * filter turns every meter into a no-op, so the difference between the two is the instrumentation overhead.
+ * <p>
+ * {@code decode} is the consumer's decode stage, including the stage timer and the consumer lag of a timestamped
+ * record; {@code persistMeters} is what a successfully persisted record records on top of that (persist stage,
+ * end-to-end latency and the outcome counter).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class PipelineMetricsBenchmark {
+
+    @Param({"false", "true"})
+    public boolean instrumented;
+
+    @Param({"CONFIRMED"})
+    public ReservationEventType eventType;
+
+    private PipelineMetrics metrics;
+    private ReservationEventDispatcher dispatcher;
+    private ConsumerRecord<String, String> record;
+    private Instant envelopeTimestamp;
+
+    @Setup
+    public void setUp() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        if (!instrumented) {
+            registry.config().meterFilter(MeterFilter.deny());
+        }
+        metrics = new PipelineMetrics(registry, EventFixtures.TOPICS);
+        // Only the decode path is exercised, so persistence collaborators are not needed
+        dispatcher = new ReservationEventDispatcher(new ReservationEventDecoder(EventFixtures.objectMapper()),
+                null, null, null, EventFixtures.TOPICS, metrics, Optional.empty());
+
+        long produced = System.currentTimeMillis() - 50;
+        String value = EventFixtures.json(eventType);
+        record = new ConsumerRecord<>(EventFixtures.TOPICS.topicOf(eventType), 0, 0L, produced,
+                TimestampType.CREATE_TIME, -1, value.length(), eventType.name(), value, new RecordHeaders(),
+                Optional.empty());
+        envelopeTimestamp = Instant.ofEpochMilli(produced);
+    }
+
+    @Benchmark
+    public DecodedReservationEvent decode() {
+        return dispatcher.decode(record);
+    }
+
+    @Benchmark
+    public void persistMeters() {
+        long start = System.nanoTime();
+        metrics.recordStage(eventType, PipelineMetrics.Stage.PERSIST, start);
+        metrics.recordEndToEnd(eventType, envelopeTimestamp);
+        metrics.recordOutcome(eventType, PipelineMetrics.Outcome.SUCCESS);
+    }
+}
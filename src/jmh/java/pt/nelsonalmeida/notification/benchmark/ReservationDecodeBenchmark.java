@@ -0,0 +1,66 @@
+package pt.nelsonalmeida.notification.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pt.nelsonalmeida.notification.dto.MessageEnvelope;
+import pt.nelsonalmeida.notification.dto.ReservationEventType;
+import pt.nelsonalmeida.notification.events.DecodedReservationEvent;
+import pt.nelsonalmeida.notification.events.ReservationEventDispatcher;
+import pt.nelsonalmeida.notification.service.PipelineMetrics;
+import pt.nelsonalmeida.notification.util.ReservationEventDecoder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The consumer decode path, from the raw record to the notification request.
+ * {@code decoder} is the bare parse; {@code dispatcherDecode} adds topic resolution, mapping and the
+ * pipeline metrics. {@link PipelineMetricsBenchmark} isolates the metrics.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ReservationDecodeBenchmark {
+
+    @Param({"CREATED", "CONFIRMED", "CANCELLED"})
+    public ReservationEventType eventType;
+
+    private ReservationEventDecoder decoder;
+    private ReservationEventDispatcher dispatcher;
+    private ConsumerRecord<String, String> record;
+
+    @Setup
+    public void setUp() {
+        decoder = new ReservationEventDecoder(EventFixtures.objectMapper());
+        PipelineMetrics metrics = new PipelineMetrics(new SimpleMeterRegistry(), EventFixtures.TOPICS);
+        // Only the decode path is exercised, so persistence collaborators are not needed
+        dispatcher = new ReservationEventDispatcher(decoder, null, null, null, EventFixtures.TOPICS, metrics,
+                Optional.empty());
+        String topic = EventFixtures.TOPICS.topicOf(eventType);
+        record = new ConsumerRecord<>(topic, 0, 0L, eventType.name(), EventFixtures.json(eventType));
+    }
+
+    @Benchmark
+    public MessageEnvelope<Object> decoder() {
+        return decoder.decode(record.value(), eventType);
+    }
+
+    @Benchmark
+    public DecodedReservationEvent dispatcherDecode() {
+        return dispatcher.decode(record);
+    }
+}
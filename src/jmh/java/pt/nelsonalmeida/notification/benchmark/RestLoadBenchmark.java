@@ -0,0 +1,135 @@
+package pt.nelsonalmeida.notification.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load against a running instance: every JMH thread is one client issuing requests back to back.
+ * Run it once against an instance started with {@code NOTIFICATION_VIRTUAL_THREADS=false} and once with
+ * {@code true}, at a client count above Tomcat's 200 request threads ({@code -t}), and compare throughput and
+ * the {@code p0.99} of the sample mode. Start both with {@code NOTIFICATION_CONCURRENCYLIMIT_ENABLED=false}: the
+ * concurrency limit answers {@code 429} as soon as latency rises, which measures the limiter instead of the threads.
+ * {@code 429}s are counted rather than failing the run, as {@code rejected} next to the successful {@code ok}
+ * requests, so a run with the limit on shows how much it sheds. Other non-2xx answers (e.g. {@code 503} from an
+ * exhausted connection pool) fail the iteration, so lower {@code -t} or raise {@code DB_POOL_SIZE} until a run
+ * completes.
+ * <p>
+ * Targets {@code BENCHMARK_BASE_URL} (default {@code http://localhost:8083}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Fork(1)
+@Threads(400)
+public class RestLoadBenchmark {
+
+    private static final int SEEDED = 1_000;
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"([0-9a-f-]{36})\"");
+
+    private String baseUrl;
+    private HttpClient client;
+    private final List<String> ids = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void seed() throws IOException, InterruptedException {
+        baseUrl = System.getenv().getOrDefault("BENCHMARK_BASE_URL", "http://localhost:8083") + "/api/v1/notifications";
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (int i = 0; i < SEEDED; i++) {
+            Matcher matcher = ID.matcher(send(createRequest(), null));
+            if (!matcher.find()) {
+                throw new IllegalStateException("Create response without an id");
+            }
+            ids.add(matcher.group(1));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        client.close();
+    }
+
+    /** Outcomes per client, reported by JMH as totals next to the primary score. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Responses {
+        public long ok;
+        public long rejected;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            ok = 0;
+            rejected = 0;
+        }
+    }
+
+    @Benchmark
+    public String create(Responses responses) throws IOException, InterruptedException {
+        return send(createRequest(), responses);
+    }
+
+    @Benchmark
+    public String get(Responses responses) throws IOException, InterruptedException {
+        String id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + id)).GET().build(), responses);
+    }
+
+    private HttpRequest createRequest() {
+        String body = """
+                {"reservationId": "%s", "eventType": "CONFIRMED", "recipient": "ana.silva@example.com",
+                 "numberOfPeople": 4}
+                """.formatted(UUID.randomUUID());
+        return HttpRequest.newBuilder(URI.create(baseUrl))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    /**
+     * @param responses Where to count the outcome; without it (while seeding) a {@code 429} fails like any non-2xx
+     */
+    private String send(HttpRequest request, Responses responses) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 429 && responses != null) {
+            responses.rejected++;
+            return response.body();
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " answered " + response.statusCode());
+        }
+        if (responses != null) {
+            responses.ok++;
+        }
+        return response.body();
+    }
+}
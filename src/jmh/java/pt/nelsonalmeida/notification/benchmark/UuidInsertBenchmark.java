@@ -0,0 +1,138 @@
+package pt.nelsonalmeida.notification.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import pt.nelsonalmeida.notification.util.UuidV7;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Sustained inserts per second into a UUID-keyed table on a real PostgreSQL, with random (v4) against
+ * time-ordered (v7) ids. The table is pre-filled with {@code rows} rows so the primary-key index is large
+ * when measuring; make it bigger than {@code shared_buffers} to see the effect of random index pages.
+ * <p>
+ * Connects to {@code BENCHMARK_JDBC_URL} (default {@code jdbc:postgresql://localhost:5432/notification_db})
+ * as {@code POSTGRES_USER} / {@code POSTGRES_PASSWORD}, in its own {@code uuid_insert_benchmark} table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@Threads(4)
+public class UuidInsertBenchmark {
+
+    private static final int BATCH = 500;
+    private static final String INSERT = """
+            INSERT INTO uuid_insert_benchmark (id, reservation_id, event_type, recipient, status, sent_at)
+            VALUES (?, ?, 'CONFIRMED', 'ana.silva@example.com', 'PENDING', ?)
+            """;
+
+    @Param({"v4", "v7"})
+    public String ids;
+
+    @Param({"1000000"})
+    public int rows;
+
+    private Supplier<UUID> generator;
+
+    @Setup(Level.Trial)
+    public void createTable() throws SQLException {
+        generator = "v7".equals(ids) ? UuidV7::next : UUID::randomUUID;
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS uuid_insert_benchmark");
+            statement.execute("""
+                    CREATE TABLE uuid_insert_benchmark (
+                        id UUID PRIMARY KEY,
+                        reservation_id UUID NOT NULL,
+                        event_type VARCHAR(50) NOT NULL,
+                        recipient VARCHAR(255) NOT NULL,
+                        status VARCHAR(20) NOT NULL,
+                        sent_at TIMESTAMP NOT NULL
+                    )
+                    """);
+            try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+                for (int i = 0; i < rows; i += BATCH) {
+                    insertBatch(connection, insert);
+                }
+            }
+            statement.execute("VACUUM ANALYZE uuid_insert_benchmark");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void dropTable() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS uuid_insert_benchmark");
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Session {
+
+        Connection connection;
+        PreparedStatement insert;
+
+        @Setup(Level.Trial)
+        public void open() throws SQLException {
+            connection = connect();
+            insert = connection.prepareStatement(INSERT);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            insert.close();
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void insert(Session session) throws SQLException {
+        insertBatch(session.connection, session.insert);
+    }
+
+    private void insertBatch(Connection connection, PreparedStatement insert) throws SQLException {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int i = 0; i < BATCH; i++) {
+            insert.setObject(1, generator.get());
+            insert.setObject(2, UUID.randomUUID());
+            insert.setTimestamp(3, now);
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+
+    private static Connection connect() throws SQLException {
+        String url = System.getenv().getOrDefault("BENCHMARK_JDBC_URL",
+                "jdbc:postgresql://localhost:5432/notification_db");
+        Connection connection = DriverManager.getConnection(url + (url.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true",
+                System.getenv().getOrDefault("POSTGRES_USER", "postgres"),
+                System.getenv().getOrDefault("POSTGRES_PASSWORD", "postgres"));
+        connection.setAutoCommit(false);
+        return connection;
+    }
+}
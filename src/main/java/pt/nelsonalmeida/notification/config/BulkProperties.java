@@ -0,0 +1,15 @@
+package pt.nelsonalmeida.notification.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "notification.bulk")
+public class BulkProperties {
+
+    /** Items written per flush; keep in line with hibernate.jdbc.batch_size. */
+    private int chunkSize = 500;
+    private int maxItems = 100_000;
+    /** Item errors listed in the response; further ones are only counted. */
+    private int maxReportedErrors = 1_000;
+}
@@ -0,0 +1,21 @@
+package pt.nelsonalmeida.notification.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "notification.cache.invalidation.mode", havingValue = "kafka")
+    public NewTopic cacheInvalidationTopic(CacheProperties properties) {
+        return TopicBuilder.name(properties.getInvalidation().getTopic())
+                .compact()
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package pt.nelsonalmeida.notification.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "notification.cache")
+public class CacheProperties {
+
+    private long maximumSize = 10_000;
+    private Duration ttl = Duration.ofSeconds(30);
+    /** How long an unknown id is remembered as missing. Kept short so late writes become visible quickly. */
+    private Duration negativeTtl = Duration.ofSeconds(5);
+
+    private final Invalidation invalidation = new Invalidation();
+
+    public enum InvalidationMode {
+        /** Invalidate this instance only; for single-node deployments and tests. */
+        LOCAL,
+        /** Also broadcast invalidations to the other instances through a compacted Kafka topic. */
+        KAFKA
+    }
+
+    @Data
+    public static class Invalidation {
+        private InvalidationMode mode = InvalidationMode.LOCAL;
+        private String topic = "notification-cache-invalidation";
+        /**
+         * Names this instance's consumer group; must be unique among running instances. Defaults to
+         * {@code HOSTNAME}, which container platforms set per instance, or a random id without it.
+         */
+        private String instanceId;
+    }
+}
@@ -0,0 +1,55 @@
+package pt.nelsonalmeida.notification.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "notification.channels")
+public class ChannelProperties {
+
+    /** Channel of notifications that do not name one. */
+    private String defaultChannel = "email";
+
+    private final Email email = new Email();
+
+    private final LocalSink localSink = new LocalSink();
+
+    /** Webhook channels by name, e.g. {@code sms} pointing at an SMS gateway. */
+    private Map<String, Webhook> webhooks = new LinkedHashMap<>();
+
+    @Data
+    public static class Email {
+        /** Simulated round trip of the stub sender. */
+        private Duration stubLatency = Duration.ZERO;
+    }
+
+    @Data
+    public static class LocalSink {
+        /** Register the {@code local} channel, which appends messages to a memory-mapped file. */
+        private boolean enabled = false;
+        private Path file = Path.of("notification-sink.log");
+        /** Size of each mapped region; the file grows by one region at a time. */
+        private DataSize regionSize = DataSize.ofMegabytes(64);
+        /** Channels whose deliveries go to the local sink instead, e.g. {@code [email]} for load tests. */
+        private List<String> capture = new ArrayList<>();
+    }
+
+    @Data
+    public static class Webhook {
+        private URI url;
+        /** Requests in flight at once; further sends wait for a free slot. */
+        private int maxConcurrency = 64;
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration requestTimeout = Duration.ofSeconds(5);
+        private Map<String, String> headers = new LinkedHashMap<>();
+    }
+}
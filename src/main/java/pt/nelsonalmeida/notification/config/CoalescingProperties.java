@@ -0,0 +1,18 @@
+package pt.nelsonalmeida.notification.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "notification.coalesce")
+public class CoalescingProperties {
+
+    private boolean enabled = false;
+    /** Time from a reservation's first buffered event until its notification is emitted. */
+    private Duration window = Duration.ofSeconds(10);
+    private Duration flushInterval = Duration.ofSeconds(1);
+    /** Reservations emitted per flush transaction. */
+    private int batchSize = 500;
+}
@@ -0,0 +1,44 @@
+package pt.nelsonalmeida.notification.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "notification.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+    /** {@code GET} and {@code HEAD} requests. */
+    private Limit read = new Limit(100, 10, 1000);
+    /** Every other method. */
+    private Limit write = new Limit(40, 5, 400);
+    /** Bulk changes ({@code /bulk}), which hold a connection for the whole import. */
+    private Limit bulk = new Limit(4, 1, 16);
+    /** How far short-term latency may rise above the long-term average before the limit shrinks. */
+    private double tolerance = 1.5;
+    /** Share of each window's target applied to the limit. */
+    private double smoothing = 0.2;
+    /** Factor the limit is multiplied by when a request fails from overload (503). */
+    private double backoffRatio = 0.9;
+    private int windowSamples = 50;
+    private Duration minWindow = Duration.ofMillis(100);
+    /** Sent as {@code Retry-After} with 429 answers. */
+    private Duration retryAfter = Duration.ofSeconds(1);
+    /** Long-lived requests that are not limited, relative to {@code /api/v1/notifications}. */
+    private List<String> excludedPaths = new ArrayList<>(List.of("/feed", "/export"));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private int initial;
+        private int min;
+        private int max;
+    }
+}
@@ -0,0 +1,27 @@
+package pt.nelsonalmeida.notification.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "notification.dead-letter")
+public class DeadLetterProperties {
+
+    private int defaultLimit = 50;
+    private int maxLimit = 500;
+    /** Upper bound of records picked up by a single replay request. */
+    private int maxReplay = 10_000;
+    /** Records republished per second by a replay, across all of its workers. */
+    private double replayRatePerSecond = 50;
+    /** Original partitions replayed concurrently; records of one partition keep their order. */
+    private int replayConcurrency = 4;
+    /**
+     * A running replay whose heartbeat is older is taken for dead and its unfinished records go back to NEW.
+     * Replays move their heartbeat at least five times within it.
+     */
+    private Duration replayStaleAfter = Duration.ofMinutes(5);
+    /** Finished replays are kept this long for {@code GET /replay/{jobId}}. */
+    private Duration replayRetention = Duration.ofDays(1);
+}
@@ -0,0 +1,18 @@
+package pt.nelsonalmeida.notification.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "notification.dedup")
+public class DeduplicationProperties {
+
+    /** Message ids remembered in memory; older ones are still caught by the processed_message table. */
+    private long cacheSize = 100_000;
+    private Duration cacheTtl = Duration.ofHours(1);
+    /** How long processed ids are kept in the database. Must exceed the longest possible redelivery delay. */
+    private Duration retention = Duration.ofDays(7);
+    private String purgeCron = "0 30 * * * *";
+}
@@ -0,0 +1,30 @@
+package pt.nelsonalmeida.notification.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "notification.feed")
+public class FeedProperties {
+
+    /** Events buffered per subscriber while it is slower than the changes it follows. */
+    private int bufferSize = 256;
+    private Overflow overflow = Overflow.DISCONNECT;
+    /** Recent changes kept for subscribers resuming with {@code Last-Event-ID}. */
+    private int replaySize = 10_000;
+    /** Subscriptions held open by this instance; further ones get 503. */
+    private int maxSubscribers = 50_000;
+    /** Comment sent on idle streams so proxies keep them open and dead clients are noticed. */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+    /** Streams are closed after this long; clients reconnect with {@code Last-Event-ID}. */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    public enum Overflow {
+        /** Close the stream; the client resumes from its last event, or gets a reset if that is too old. */
+        DISCONNECT,
+        /** Drop the subscriber's oldest buffered events and keep streaming. */
+        DROP_OLDEST
+    }
+}
@@ -0,0 +1,102 @@
+package pt.nelsonalmeida.notification.config;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
+import pt.nelsonalmeida.notification.service.PipelineMetrics;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+@Configuration
+@EnableConfigurationProperties(NotificationConsumerProperties.class)
+public class KafkaConsumerConfig {
+
+    public static final String DLT_SUFFIX = "-dlt";
+    /** Processing attempts made before a record was dead-lettered, set by the batch and parallel consumers. */
+    public static final String ATTEMPTS_HEADER = "notification-attempts";
+
+    /**
+     * Records the attempt count on a record about to be dead-lettered; the recoverer copies it to the DLT record.
+     */
+    public static void setAttempts(ConsumerRecord<?, ?> record, int attempts) {
+        record.headers().remove(ATTEMPTS_HEADER);
+        record.headers().add(ATTEMPTS_HEADER, String.valueOf(attempts).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Bean
+    public DeadLetterPublishingRecoverer deadLetterPublishingRecoverer(KafkaOperations<?, ?> kafkaTemplate) {
+        return new DeadLetterPublishingRecoverer(kafkaTemplate,
+                (record, ex) -> new TopicPartition(record.topic() + DLT_SUFFIX, -1));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "notification.consumer.mode", havingValue = "batch")
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> batchKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> kafkaConsumerFactory,
+            DeadLetterPublishingRecoverer deadLetterPublishingRecoverer,
+            NotificationConsumerProperties properties,
+            PipelineMetrics pipelineMetrics) {
+
+        NotificationConsumerProperties.Batch batch = properties.getBatch();
+
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, kafkaConsumerFactory);
+        factory.setBatchListener(true);
+
+        Properties consumerOverrides = new Properties();
+        consumerOverrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(batch.getMaxSize()));
+        consumerOverrides.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, String.valueOf(batch.getMaxWait().toMillis()));
+        consumerOverrides.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, String.valueOf(batch.getMinBytes()));
+        consumerOverrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        factory.getContainerProperties().setKafkaConsumerProperties(consumerOverrides);
+
+        // Offsets are committed once the listener returns, i.e. after the batch transaction committed
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+
+        ExponentialBackOffWithMaxRetries backOff = new ExponentialBackOffWithMaxRetries(batch.getMaxRetries());
+        backOff.setInitialInterval(batch.getRetryBackoff().toMillis());
+        backOff.setMultiplier(2.0);
+        factory.setCommonErrorHandler(new DefaultErrorHandler((record, ex) -> {
+            setAttempts(record, batch.getMaxRetries() + 1);
+            deadLetterPublishingRecoverer.accept(record, ex);
+            pipelineMetrics.recordDeadLetter(record.topic());
+        }, backOff));
+
+        return factory;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "notification.consumer.mode", havingValue = "parallel")
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> parallelKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> kafkaConsumerFactory) {
+
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, kafkaConsumerFactory);
+
+        Properties consumerOverrides = new Properties();
+        consumerOverrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        factory.getContainerProperties().setKafkaConsumerProperties(consumerOverrides);
+
+        // Records are acknowledged out of order from the worker lanes; the container only commits
+        // an offset once every record before it has been acknowledged too
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAsyncAcks(true);
+
+        return factory;
+    }
+}
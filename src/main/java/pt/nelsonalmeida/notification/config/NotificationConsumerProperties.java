@@ -0,0 +1,55 @@
+package pt.nelsonalmeida.notification.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the reservation event listeners.
+ * {@code mode} selects between one-record-per-call listeners (the default, with
+ * retry topics), batch listeners that persist a whole poll in one transaction, and
+ * parallel listeners that process different reservations of a partition concurrently.
+ */
+@Data
+@ConfigurationProperties(prefix = "notification.consumer")
+public class NotificationConsumerProperties {
+
+    private Mode mode = Mode.RECORD;
+
+    private final Batch batch = new Batch();
+
+    private final Parallel parallel = new Parallel();
+
+    public enum Mode {
+        RECORD,
+        BATCH,
+        PARALLEL
+    }
+
+    @Data
+    public static class Batch {
+        /** Upper bound of records handed to the listener per poll (max.poll.records). */
+        private int maxSize = 500;
+        /** How long the broker may hold a fetch to fill {@code minBytes} (fetch.max.wait.ms). */
+        private Duration maxWait = Duration.ofMillis(250);
+        /** Bytes the broker tries to accumulate before answering a fetch (fetch.min.bytes). */
+        private int minBytes = 65536;
+        /** Redeliveries of a failing record before it is published to its DLT. */
+        private int maxRetries = 2;
+        private Duration retryBackoff = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class Parallel {
+        /** Worker threads; events of one reservation always land on the same one. */
+        private int lanes = 16;
+        /** Records decoded but not yet processed; the listener thread blocks beyond this. */
+        private int maxInFlight = 1000;
+        /** Attempts after the first before a failing record is published to its DLT. */
+        private int maxRetries = 2;
+        private Duration retryBackoff = Duration.ofSeconds(1);
+        /** How long shutdown waits for queued records before abandoning them to redelivery. */
+        private Duration shutdownTimeout = Duration.ofSeconds(30);
+    }
+}
@@ -0,0 +1,106 @@
+package pt.nelsonalmeida.notification.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "notification.outbox")
+public class OutboxProperties {
+
+    public static final String DEFAULT_LANE = "default";
+
+    private boolean enabled = true;
+    /** Pause between claims when the previous claim did not fill a batch. */
+    private Duration pollInterval = Duration.ofMillis(500);
+    /** Rows claimed per round trip. */
+    private int batchSize = 100;
+    /** Maximum number of messages being sent at the same time by this instance. */
+    private int concurrency = 32;
+    /** Run sends on virtual threads instead of a fixed platform thread pool. */
+    private boolean virtualThreads = true;
+    /** How long a claimed row stays invisible to other dispatchers before it can be reclaimed. */
+    private Duration lease = Duration.ofMinutes(2);
+    private int maxAttempts = 5;
+    /** Delay before the first retry, doubled on every further attempt. */
+    private Duration retryBackoff = Duration.ofSeconds(30);
+    /** How long delivered rows are kept before being purged. */
+    private Duration retention = Duration.ofDays(7);
+    private String purgeCron = "0 0 * * * *";
+
+    private final RateLimit rateLimit = new RateLimit();
+
+    private final Backpressure backpressure = new Backpressure();
+
+    /**
+     * Dispatch lanes keyed by name. Event types not listed by any lane, and rows of lanes that are no longer
+     * configured, go through {@value #DEFAULT_LANE}, which uses the {@link Lane} defaults unless configured.
+     */
+    private Map<String, Lane> lanes = new LinkedHashMap<>();
+    /** A lane whose oldest queued message has waited this long is served before any other. */
+    private Duration starvationThreshold = Duration.ofSeconds(30);
+
+    public String laneFor(String eventType) {
+        for (Map.Entry<String, Lane> lane : lanes.entrySet()) {
+            if (lane.getValue().getEventTypes().contains(eventType)) {
+                return lane.getKey();
+            }
+        }
+        return DEFAULT_LANE;
+    }
+
+    /** The configured lanes plus {@value #DEFAULT_LANE}, which is always last. */
+    public Map<String, Lane> effectiveLanes() {
+        Map<String, Lane> effective = new LinkedHashMap<>(lanes);
+        effective.remove(DEFAULT_LANE);
+        effective.put(DEFAULT_LANE, lanes.getOrDefault(DEFAULT_LANE, new Lane()));
+        return effective;
+    }
+
+    @Data
+    public static class RateLimit {
+        private boolean enabled = true;
+        /** Sends per second across all domains. */
+        private double globalPerSecond = 500;
+        private double globalBurst = 500;
+        /** Sends per second to any single domain without its own entry in {@code domains}. */
+        private double perDomainPerSecond = 50;
+        private double perDomainBurst = 100;
+        /** Limits for specific domains, keyed by lower-case domain (use {@code "[gmail.com]"} in YAML). */
+        private Map<String, DomainLimit> domains = new LinkedHashMap<>();
+    }
+
+    @Data
+    public static class DomainLimit {
+        private double perSecond;
+        private double burst;
+    }
+
+    @Data
+    public static class Lane {
+        private List<String> eventTypes = new ArrayList<>();
+        /** Share of dispatches relative to the other lanes while they all have work. */
+        private int weight = 1;
+        /** Messages claimed ahead of dispatch; keep it small enough to drain well within the lease. */
+        private int capacity = 200;
+        /** Sends in flight at once; {@code concurrency} still caps all lanes together. */
+        private int maxInFlight = 16;
+    }
+
+    /**
+     * Pauses the reservation listeners while the outbox backlog is above {@code highWatermark}
+     * and resumes them once it drops below {@code lowWatermark}.
+     */
+    @Data
+    public static class Backpressure {
+        private boolean enabled = true;
+        private long highWatermark = 20_000;
+        private long lowWatermark = 5_000;
+        private Duration checkInterval = Duration.ofSeconds(5);
+    }
+}
@@ -0,0 +1,37 @@
+package pt.nelsonalmeida.notification.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "notification.partitioning")
+public class PartitioningProperties {
+
+    private boolean enabled = true;
+    /** Size of new partitions. Existing partitions are kept as they are when this changes. */
+    private Granularity granularity = Granularity.MONTHLY;
+    /** Partitions created ahead of the current one. */
+    private int premake = 3;
+    /** Partitions whose whole range is older than this are retired; unset keeps everything. */
+    private Duration retention;
+    private RetentionAction retentionAction = RetentionAction.DROP;
+    /** Write retired partitions to {@code archive-directory} as gzipped NDJSON before retiring them. */
+    private boolean archive = false;
+    private Path archiveDirectory = Path.of("archive");
+    private String cron = "0 15 2 * * *";
+
+    public enum Granularity {
+        DAILY,
+        MONTHLY
+    }
+
+    public enum RetentionAction {
+        /** Detach the partition and keep it as a standalone table. */
+        DETACH,
+        /** Detach and drop the partition. */
+        DROP
+    }
+}
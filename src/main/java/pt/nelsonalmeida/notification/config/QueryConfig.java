@@ -0,0 +1,9 @@
+package pt.nelsonalmeida.notification.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(QueryProperties.class)
+public class QueryConfig {
+}
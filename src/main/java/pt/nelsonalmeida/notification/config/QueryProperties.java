@@ -0,0 +1,18 @@
+package pt.nelsonalmeida.notification.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "notification.query")
+public class QueryProperties {
+
+    private int defaultPageSize = 50;
+    private int maxPageSize = 500;
+    /** Upper bound of reservation ids accepted by a single by-reservations query. */
+    private int maxReservationIds = 100;
+    /** Rows fetched per round trip by the server-side cursor behind the export. */
+    private int exportFetchSize = 1000;
+    /** Shortest recipient prefix a search accepts, so a prefix cannot match most of the index. */
+    private int minRecipientPrefix = 3;
+}
@@ -0,0 +1,23 @@
+package pt.nelsonalmeida.notification.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "notification.stats")
+public class StatsProperties {
+
+    /** How often buffered counter deltas are added to notification_stats. */
+    private Duration flushInterval = Duration.ofSeconds(10);
+    /** How often recent hours are recounted from notification, repairing deltas lost in a crash. */
+    private Duration reconcileInterval = Duration.ofMinutes(15);
+    /** How far back hours are recounted. */
+    private Duration reconcileWindow = Duration.ofHours(48);
+    /** Hours that ended less than this ago still receive changes and are left to the counters. */
+    private Duration reconcileSettle = Duration.ofHours(1);
+    /** Range queried when the request gives no {@code from}. */
+    private Duration defaultRange = Duration.ofHours(24);
+    private Duration maxRange = Duration.ofDays(31);
+}
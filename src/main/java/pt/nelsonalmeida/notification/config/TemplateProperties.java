@@ -0,0 +1,22 @@
+package pt.nelsonalmeida.notification.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+
+@Data
+@ConfigurationProperties(prefix = "notification.templates")
+public class TemplateProperties {
+
+    /**
+     * Directory whose templates override the bundled ones and are reloaded when they change;
+     * unset uses the bundled templates only.
+     */
+    private Path directory;
+    private Duration reloadInterval = Duration.ofSeconds(5);
+    /** Locale used for requests without one. */
+    private Locale defaultLocale = Locale.ENGLISH;
+}
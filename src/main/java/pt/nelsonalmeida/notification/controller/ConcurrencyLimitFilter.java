@@ -0,0 +1,139 @@
+package pt.nelsonalmeida.notification.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import pt.nelsonalmeida.notification.config.ConcurrencyLimitProperties;
+import pt.nelsonalmeida.notification.exception.ErrorResponse;
+import pt.nelsonalmeida.notification.util.AdaptiveConcurrencyLimit;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Sheds load on the notification API before it queues behind Tomcat threads and database connections: reads and
+ * writes each get an {@link AdaptiveConcurrencyLimit}, and a request arriving while its limit is reached is answered
+ * {@code 429} with {@code Retry-After} straight away. A {@code 503} (no database connection) counts as overload.
+ * Bulk changes run for minutes and would drag the write limit down to its minimum, so they get a limit of their own.
+ * Long-lived streams ({@code notification.concurrency-limit.excluded-paths}) are not limited.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String API_PATH = "/api/v1/notifications";
+    private static final String BULK_PATH = "/bulk";
+
+    private final ConcurrencyLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Guard read;
+    private final Guard write;
+    private final Guard bulk;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.read = guard(properties.getRead(), "read", meterRegistry);
+        this.write = guard(properties.getWrite(), "write", meterRegistry);
+        this.bulk = guard(properties.getBulk(), "bulk", meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String relative = relativePath(request);
+        return relative == null || properties.getExcludedPaths().stream().anyMatch(excluded -> within(relative, excluded));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Guard guard;
+        if (within(relativePath(request), BULK_PATH)) {
+            guard = bulk;
+        } else if (HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())) {
+            guard = read;
+        } else {
+            guard = write;
+        }
+        AdaptiveConcurrencyLimit limit = guard.limit();
+        if (!limit.tryAcquire()) {
+            guard.rejections().increment();
+            reject(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean dropped = false;
+        try {
+            chain.doFilter(request, response);
+            dropped = response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value();
+        } finally {
+            limit.release(System.nanoTime() - start, dropped);
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error(HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase())
+                .message("Too many concurrent requests, retry later")
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, properties.getRetryAfter().toSeconds())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    /**
+     * @return The path below {@link #API_PATH}, or null for requests outside it
+     */
+    private static String relativePath(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.startsWith(API_PATH) ? path.substring(API_PATH.length()) : null;
+    }
+
+    /** Whole path segments only, so {@code /feed} covers {@code /feed/...} but not {@code /feedback}. */
+    private static boolean within(String relative, String prefix) {
+        return relative.equals(prefix) || relative.startsWith(prefix + "/");
+    }
+
+    private Guard guard(ConcurrencyLimitProperties.Limit settings, String kind, MeterRegistry registry) {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(settings.getInitial(), settings.getMin(),
+                settings.getMax(), properties.getTolerance(), properties.getSmoothing(), properties.getBackoffRatio(),
+                properties.getWindowSamples(), properties.getMinWindow().toNanos());
+        Gauge.builder("notification.api.concurrency.limit", limit, AdaptiveConcurrencyLimit::limit)
+                .description("Current adaptive concurrency limit")
+                .tag("kind", kind)
+                .register(registry);
+        Gauge.builder("notification.api.concurrency.in_flight", limit, AdaptiveConcurrencyLimit::inFlight)
+                .description("Requests being handled")
+                .tag("kind", kind)
+                .register(registry);
+        Counter rejections = Counter.builder("notification.api.concurrency.rejected")
+                .description("Requests answered 429 because the concurrency limit was reached")
+                .tag("kind", kind)
+                .register(registry);
+        return new Guard(limit, rejections);
+    }
+
+    private record Guard(AdaptiveConcurrencyLimit limit, Counter rejections) {
+    }
+}
@@ -0,0 +1,43 @@
+package pt.nelsonalmeida.notification.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import pt.nelsonalmeida.notification.dto.DeadLetterFilter;
+import pt.nelsonalmeida.notification.dto.DeadLetterResponse;
+import pt.nelsonalmeida.notification.dto.ReplayJobResponse;
+import pt.nelsonalmeida.notification.service.DeadLetterService;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/admin/dead-letters")
+@RequiredArgsConstructor
+public class DeadLetterController {
+
+    private final DeadLetterService deadLetterService;
+
+    @GetMapping
+    public ResponseEntity<List<DeadLetterResponse>> search(
+            @ModelAttribute DeadLetterFilter filter,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(deadLetterService.search(filter, limit));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<DeadLetterResponse> getById(@PathVariable UUID id) {
+        return ResponseEntity.ok(deadLetterService.getDeadLetter(id));
+    }
+
+    @PostMapping("/replay")
+    public ResponseEntity<ReplayJobResponse> replay(@RequestBody DeadLetterFilter filter) {
+        return new ResponseEntity<>(deadLetterService.replay(filter), HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/replay/{jobId}")
+    public ResponseEntity<ReplayJobResponse> getReplay(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(deadLetterService.getReplay(jobId));
+    }
+}
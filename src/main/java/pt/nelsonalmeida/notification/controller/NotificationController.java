@@ -1,15 +1,38 @@
 package pt.nelsonalmeida.notification.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import pt.nelsonalmeida.notification.dto.BulkResult;
+import pt.nelsonalmeida.notification.dto.NotificationPage;
 import pt.nelsonalmeida.notification.dto.NotificationRequest;
 import pt.nelsonalmeida.notification.dto.NotificationResponse;
+import pt.nelsonalmeida.notification.dto.NotificationSearchCriteria;
+import pt.nelsonalmeida.notification.dto.NotificationSearchResult;
+import pt.nelsonalmeida.notification.dto.NotificationStatsResponse;
+import pt.nelsonalmeida.notification.dto.NotificationStatusRequest;
+import pt.nelsonalmeida.notification.dto.NotificationSummary;
+import pt.nelsonalmeida.notification.dto.ReservationNotificationsRequest;
+import pt.nelsonalmeida.notification.service.NotificationBulkService;
+import pt.nelsonalmeida.notification.service.NotificationExportService;
+import pt.nelsonalmeida.notification.service.NotificationFeed;
 import pt.nelsonalmeida.notification.service.NotificationService;
+import pt.nelsonalmeida.notification.service.NotificationStatsService;
+import pt.nelsonalmeida.notification.util.VersionTag;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -17,35 +40,140 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class NotificationController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
     private final NotificationService notificationService;
+    private final NotificationExportService notificationExportService;
+    private final NotificationBulkService notificationBulkService;
+    private final NotificationStatsService notificationStatsService;
+    private final NotificationFeed notificationFeed;
 
     @GetMapping
-    public ResponseEntity<List<NotificationResponse>> getAll() {
-        return ResponseEntity.ok(notificationService.getAllNotifications());
+    public ResponseEntity<NotificationPage<NotificationResponse>> getAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(notificationService.getNotifications(cursor, limit));
+    }
+
+    @GetMapping(params = "reservationId")
+    public ResponseEntity<List<NotificationSummary>> getByReservation(@RequestParam UUID reservationId) {
+        return ResponseEntity.ok(notificationService.getNotificationsByReservation(reservationId));
+    }
+
+    @PostMapping("/by-reservations")
+    public ResponseEntity<Map<UUID, List<NotificationSummary>>> getByReservations(
+            @Valid @RequestBody ReservationNotificationsRequest request) {
+        return ResponseEntity.ok(notificationService.getNotificationsByReservations(request.getReservationIds()));
+    }
+
+    @GetMapping(value = "/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> export() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(notificationExportService::exportNdjson);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<NotificationPage<NotificationSearchResult>> search(
+            @RequestParam(required = false) String recipient,
+            @RequestParam(required = false) String recipientPrefix,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String eventType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        NotificationSearchCriteria criteria = new NotificationSearchCriteria(recipient, recipientPrefix, status, eventType, from, to);
+        return ResponseEntity.ok(notificationService.searchNotifications(criteria, cursor, limit));
+    }
+
+    @GetMapping(value = "/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter feed(
+            @RequestParam(required = false) UUID reservationId,
+            @RequestParam(required = false) String recipient,
+            @RequestHeader(value = LAST_EVENT_ID, required = false) String lastEventId) {
+        if ((reservationId == null) == (recipient == null || recipient.isBlank())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Pass exactly one of reservationId or recipient");
+        }
+        String key = reservationId != null
+                ? NotificationFeed.reservationKey(reservationId)
+                : NotificationFeed.recipientKey(recipient);
+        return notificationFeed.subscribe(key, lastEventId);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<NotificationStatsResponse> getStats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String eventType,
+            @RequestParam(required = false) String status) {
+        return ResponseEntity.ok(notificationStatsService.getStats(from, to, eventType, status));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkResult> createBulk(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(notificationBulkService.createAll(request.getInputStream()));
+    }
+
+    @PutMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkResult> updateBulk(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(notificationBulkService.updateAll(request.getInputStream()));
+    }
+
+    @DeleteMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkResult> deleteBulk(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(notificationBulkService.deleteAll(request.getInputStream()));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<NotificationResponse> getById(@PathVariable UUID id) {
-        return ResponseEntity.ok(notificationService.getNotificationById(id));
+        return withETag(notificationService.getNotificationById(id));
     }
 
     @PostMapping
     public ResponseEntity<NotificationResponse> create(@Valid @RequestBody NotificationRequest request) {
         NotificationResponse created = notificationService.createNotification(request);
-        return new ResponseEntity<>(created, HttpStatus.CREATED);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(VersionTag.format(created.getVersion()))
+                .body(created);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<NotificationResponse> update(
             @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody NotificationRequest request) {
-        NotificationResponse updated = notificationService.updateNotification(id, request);
-        return ResponseEntity.ok(updated);
+        return withETag(notificationService.updateNotification(id, request, expectedVersion(ifMatch)));
+    }
+
+    @PatchMapping("/{id}/status")
+    public ResponseEntity<NotificationResponse> updateStatus(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody NotificationStatusRequest request) {
+        return withETag(notificationService.updateStatus(id, request.getStatus(), expectedVersion(ifMatch)));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable UUID id) {
-        notificationService.deleteNotification(id);
+    public ResponseEntity<Void> delete(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        notificationService.deleteNotification(id, expectedVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    private static ResponseEntity<NotificationResponse> withETag(NotificationResponse notification) {
+        return ResponseEntity.ok()
+                .eTag(VersionTag.format(notification.getVersion()))
+                .body(notification);
+    }
+
+    private static Long expectedVersion(String ifMatch) {
+        try {
+            return VersionTag.parseIfMatch(ifMatch);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, e.getMessage());
+        }
+    }
+}
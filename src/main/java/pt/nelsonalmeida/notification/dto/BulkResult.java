@@ -0,0 +1,32 @@
+package pt.nelsonalmeida.notification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of a bulk request. Items listed in {@code errors} were skipped, everything else was applied
+ * in a single transaction.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkResult {
+    private int total;
+    private int succeeded;
+    private int failed;
+    /** At most {@code notification.bulk.max-reported-errors} entries, in input order. */
+    private List<ItemError> errors;
+
+    /**
+     * @param index Position of the item in the request array
+     * @param id    The item's notification id, when known
+     */
+    public record ItemError(int index, UUID id, String message) {
+    }
+}
@@ -0,0 +1,26 @@
+package pt.nelsonalmeida.notification.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * One element of a bulk update: the notification id next to the usual request fields.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateItem {
+
+    @NotNull(message = "ID is required")
+    private UUID id;
+
+    @Valid
+    @JsonUnwrapped
+    private NotificationRequest notification = new NotificationRequest();
+}
@@ -0,0 +1,29 @@
+package pt.nelsonalmeida.notification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import pt.nelsonalmeida.notification.model.DeadLetterStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Criteria shared by the dead-letter search and replay endpoints; unset fields match everything.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetterFilter {
+    private String topic;
+    private DeadLetterStatus status;
+    private UUID messageId;
+    private String exceptionClass;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+}
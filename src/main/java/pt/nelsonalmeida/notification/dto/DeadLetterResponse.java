@@ -0,0 +1,28 @@
+package pt.nelsonalmeida.notification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetterResponse {
+    private UUID id;
+    private String topic;
+    private Integer partition;
+    private Long offset;
+    private UUID messageId;
+    private String payload;
+    private String exceptionClass;
+    private String exceptionMessage;
+    private Integer attempts;
+    private LocalDateTime failedAt;
+    private String status;
+    private LocalDateTime replayedAt;
+}
@@ -8,6 +8,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Data
@@ -27,4 +28,15 @@ public class NotificationRequest {
     private String recipient;
 
     private String status;
+
+    /** Channel to deliver through, e.g. {@code email} or a configured webhook; the default channel when absent. */
+    private String channel;
+
+    // Optional event details, rendered into the message body
+    private LocalDateTime scheduledAt;
+    private Integer numberOfPeople;
+    private String reason;
+    private LocalDateTime cancelDate;
+    /** Language tag choosing the message template variant, e.g. {@code pt-PT}. */
+    private String locale;
 }
\ No newline at end of file
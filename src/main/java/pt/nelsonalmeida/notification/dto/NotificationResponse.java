@@ -19,4 +19,5 @@ public class NotificationResponse {
     private String recipient;
     private String status;
     private LocalDateTime sentAt;
+    private long version;
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package pt.nelsonalmeida.notification.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters of a notification search; null fields do not filter. {@code from} is inclusive, {@code to} exclusive.
+ */
+public record NotificationSearchCriteria(
+        String recipient,
+        String recipientPrefix,
+        String status,
+        String eventType,
+        LocalDateTime from,
+        LocalDateTime to) {
+}
@@ -0,0 +1,17 @@
+package pt.nelsonalmeida.notification.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only projection of a notification matched by a search.
+ */
+public record NotificationSearchResult(
+        UUID id,
+        UUID reservationId,
+        String eventType,
+        String recipient,
+        String status,
+        LocalDateTime sentAt,
+        long version) {
+}
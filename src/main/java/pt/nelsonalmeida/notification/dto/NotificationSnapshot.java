@@ -0,0 +1,21 @@
+package pt.nelsonalmeida.notification.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The fields of a notification that statistics are grouped by and the live feed is routed by, as they
+ * were before or after a change.
+ */
+public record NotificationSnapshot(
+        UUID id,
+        UUID reservationId,
+        String recipient,
+        String eventType,
+        String status,
+        LocalDateTime sentAt) {
+
+    public NotificationSnapshot withStatus(String status) {
+        return new NotificationSnapshot(id, reservationId, recipient, eventType, status, sentAt);
+    }
+}
@@ -0,0 +1,13 @@
+package pt.nelsonalmeida.notification.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Number of notifications sent in one hour with a given event type and status.
+ */
+public record NotificationStatsBucket(
+        LocalDateTime hour,
+        String eventType,
+        String status,
+        long count) {
+}
@@ -0,0 +1,23 @@
+package pt.nelsonalmeida.notification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationStatsResponse {
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private long total;
+    private Map<String, Long> byEventType;
+    private Map<String, Long> byStatus;
+    private List<NotificationStatsBucket> buckets;
+}
@@ -0,0 +1,18 @@
+package pt.nelsonalmeida.notification.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import pt.nelsonalmeida.notification.model.NotificationStatus;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationStatusRequest {
+
+    @NotNull(message = "Status is required")
+    private NotificationStatus status;
+}
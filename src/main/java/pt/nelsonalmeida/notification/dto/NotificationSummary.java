@@ -0,0 +1,15 @@
+package pt.nelsonalmeida.notification.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only projection of a notification within a reservation's history.
+ */
+public record NotificationSummary(
+        UUID id,
+        String eventType,
+        String recipient,
+        String status,
+        LocalDateTime sentAt) {
+}
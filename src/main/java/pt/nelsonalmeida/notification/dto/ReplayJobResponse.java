@@ -0,0 +1,8 @@
+package pt.nelsonalmeida.notification.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record ReplayJobResponse(UUID id, String state, int total, int replayed, int failed,
+                                LocalDateTime startedAt, LocalDateTime finishedAt) {
+}
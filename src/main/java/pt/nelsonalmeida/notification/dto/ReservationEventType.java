@@ -0,0 +1,57 @@
+package pt.nelsonalmeida.notification.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Reservation events understood by the service, with the payload class each one binds to
+ * and the event type recorded on the resulting notification.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ReservationEventType {
+    CREATED("CREATED_PENDING", ReservationCreatedEvent.class),
+    CONFIRMED("CONFIRMED", ReservationConfirmedEvent.class),
+    CANCELLED("CANCELLED", ReservationCancelledEvent.class);
+
+    private static final Map<String, ReservationEventType> BY_HEADER = new HashMap<>();
+
+    static {
+        for (ReservationEventType type : values()) {
+            BY_HEADER.put(normalize(type.name()), type);
+            BY_HEADER.put(normalize(type.notificationEventType), type);
+            BY_HEADER.put(normalize("RESERVATION_" + type.name()), type);
+            BY_HEADER.put(normalize(type.payloadType.getSimpleName()), type);
+        }
+    }
+
+    private final String notificationEventType;
+    private final Class<?> payloadType;
+
+    /**
+     * Resolves the envelope {@code type} header. Case and separators are ignored, so
+     * {@code CONFIRMED}, {@code reservation.confirmed}, {@code ReservationConfirmed} and
+     * {@code ReservationConfirmedEvent} all resolve to {@link #CONFIRMED}.
+     */
+    public static Optional<ReservationEventType> fromHeader(String type) {
+        if (type == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(BY_HEADER.get(normalize(type)));
+    }
+
+    private static String normalize(String value) {
+        StringBuilder normalized = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toUpperCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+}
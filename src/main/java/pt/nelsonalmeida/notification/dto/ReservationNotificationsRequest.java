@@ -0,0 +1,21 @@
+package pt.nelsonalmeida.notification.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationNotificationsRequest {
+
+    @NotEmpty(message = "At least one reservation ID is required")
+    private List<@NotNull(message = "Reservation IDs must not be null") UUID> reservationIds;
+}
@@ -0,0 +1,31 @@
+package pt.nelsonalmeida.notification.events;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+import pt.nelsonalmeida.notification.service.DeadLetterService;
+
+/**
+ * Copies everything published to the reservation DLT topics into the dead-letter store, whichever
+ * consumer mode produced it. Uses its own consumer group, so it does not compete with the DLT handler
+ * of the record-mode listener.
+ */
+@Component
+@RequiredArgsConstructor
+public class DeadLetterConsumer {
+
+    private final DeadLetterService deadLetterService;
+
+    @KafkaListener(
+            topics = {
+                    "${notification.events.reservation-created}-dlt",
+                    "${notification.events.reservation-confirmed}-dlt",
+                    "${notification.events.reservation-cancelled}-dlt"
+            },
+            groupId = "notification-dead-letter-store"
+    )
+    public void consume(ConsumerRecord<String, String> record) {
+        deadLetterService.record(record);
+    }
+}
@@ -0,0 +1,20 @@
+package pt.nelsonalmeida.notification.events;
+
+import pt.nelsonalmeida.notification.dto.MessageEnvelope;
+import pt.nelsonalmeida.notification.dto.NotificationRequest;
+import pt.nelsonalmeida.notification.dto.ReservationEventType;
+
+import java.util.UUID;
+
+/**
+ * A reservation event after decoding, with the notification it translates to.
+ */
+public record DecodedReservationEvent(String topic,
+                                      ReservationEventType type,
+                                      MessageEnvelope<Object> envelope,
+                                      NotificationRequest request) {
+
+    public UUID messageId() {
+        return envelope.getMessageId();
+    }
+}
@@ -0,0 +1,97 @@
+package pt.nelsonalmeida.notification.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import pt.nelsonalmeida.notification.config.CacheProperties;
+import pt.nelsonalmeida.notification.service.CacheInvalidationBus;
+import pt.nelsonalmeida.notification.service.NotificationCache;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Broadcasts invalidations over a compacted topic keyed by notification id.
+ * Every instance reads the topic with its own consumer group, named after its instance id so a restart
+ * rejoins the same group, and ignores the invalidations it published itself. The group is deleted on
+ * shutdown so instances that go away do not leave it behind on the broker.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "notification.cache.invalidation.mode", havingValue = "kafka")
+public class KafkaCacheInvalidationBus implements CacheInvalidationBus, DisposableBean {
+
+    private static final String INSTANCE_ID = UUID.randomUUID().toString();
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final NotificationCache notificationCache;
+    private final KafkaAdmin kafkaAdmin;
+    private final String topic;
+    private final String groupId;
+
+    public KafkaCacheInvalidationBus(KafkaTemplate<String, String> kafkaTemplate,
+                                     @Lazy NotificationCache notificationCache,
+                                     KafkaAdmin kafkaAdmin,
+                                     CacheProperties properties) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.notificationCache = notificationCache;
+        this.kafkaAdmin = kafkaAdmin;
+        this.topic = properties.getInvalidation().getTopic();
+        this.groupId = "notification-cache-" + instanceId(properties.getInvalidation().getInstanceId());
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    @Override
+    public void publish(UUID notificationId) {
+        kafkaTemplate.send(topic, notificationId.toString(), INSTANCE_ID)
+                .whenComplete((result, e) -> {
+                    if (e != null) {
+                        log.warn("Failed to broadcast cache invalidation for {}", notificationId, e);
+                    }
+                });
+    }
+
+    @KafkaListener(
+            topics = "${notification.cache.invalidation.topic:notification-cache-invalidation}",
+            groupId = "#{__listener.groupId}",
+            properties = "auto.offset.reset=latest"
+    )
+    public void onInvalidation(ConsumerRecord<String, String> record) {
+        if (!INSTANCE_ID.equals(record.value())) {
+            notificationCache.evictLocal(UUID.fromString(record.key()));
+        }
+    }
+
+    /**
+     * Runs after the listener container has stopped, so the group has no members left and can be deleted.
+     */
+    @Override
+    public void destroy() {
+        try (AdminClient admin = AdminClient.create(kafkaAdmin.getConfigurationProperties())) {
+            admin.deleteConsumerGroups(List.of(groupId)).all().get(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Could not delete cache invalidation consumer group {}, the broker expires it once idle", groupId, e);
+        }
+    }
+
+    private static String instanceId(String configured) {
+        if (configured != null && !configured.isBlank()) {
+            return configured;
+        }
+        String hostname = System.getenv("HOSTNAME");
+        return hostname != null && !hostname.isBlank() ? hostname : UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,69 @@
+package pt.nelsonalmeida.notification.events;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs tasks on a fixed set of single-threaded lanes chosen by key, so tasks sharing a key run one
+ * after another in submission order while different keys run in parallel.
+ * At most {@code maxInFlight} tasks are queued or running; {@link #execute} blocks beyond that.
+ * Each lane runs on its own platform or virtual thread.
+ */
+class KeyOrderedExecutor implements AutoCloseable {
+
+    private final ExecutorService[] lanes;
+    private final Semaphore permits;
+
+    KeyOrderedExecutor(String namePrefix, int laneCount, int maxInFlight) {
+        this(namePrefix, laneCount, maxInFlight, false);
+    }
+
+    KeyOrderedExecutor(String namePrefix, int laneCount, int maxInFlight, boolean virtualThreads) {
+        this.lanes = new ExecutorService[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            Thread.Builder thread = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform();
+            lanes[i] = Executors.newSingleThreadExecutor(thread.name(namePrefix + i).factory());
+        }
+        this.permits = new Semaphore(maxInFlight);
+    }
+
+    void execute(Object key, Runnable task) throws InterruptedException {
+        permits.acquire();
+        try {
+            lanes[Math.floorMod(Objects.hashCode(key), lanes.length)].execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Stops accepting tasks and waits up to {@code timeout} for the queued ones to finish.
+     */
+    void shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (ExecutorService lane : lanes) {
+            if (!lane.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                lane.shutdownNow();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        shutdown(0, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,35 @@
+package pt.nelsonalmeida.notification.events;
+
+import pt.nelsonalmeida.notification.dto.NotificationSnapshot;
+
+import java.util.UUID;
+
+/**
+ * Published in-process whenever a notification row is created, modified or removed.
+ * Listeners that must not observe uncommitted state should use
+ * {@code @TransactionalEventListener}.
+ *
+ * @param before The row before the change; null for CREATED
+ * @param after  The row after the change; null for DELETED
+ */
+public record NotificationChangedEvent(ChangeType type, UUID notificationId,
+                                       NotificationSnapshot before, NotificationSnapshot after) {
+
+    public static NotificationChangedEvent created(NotificationSnapshot after) {
+        return new NotificationChangedEvent(ChangeType.CREATED, after.id(), null, after);
+    }
+
+    public static NotificationChangedEvent updated(NotificationSnapshot before, NotificationSnapshot after) {
+        return new NotificationChangedEvent(ChangeType.UPDATED, after.id(), before, after);
+    }
+
+    public static NotificationChangedEvent deleted(NotificationSnapshot before) {
+        return new NotificationChangedEvent(ChangeType.DELETED, before.id(), before, null);
+    }
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
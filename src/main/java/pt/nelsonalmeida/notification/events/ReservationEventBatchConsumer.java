@@ -0,0 +1,99 @@
+package pt.nelsonalmeida.notification.events;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.stereotype.Component;
+import pt.nelsonalmeida.notification.config.KafkaConsumerConfig;
+import pt.nelsonalmeida.notification.service.PipelineMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Batch counterpart of {@link ReservationEventConsumer}, active when {@code notification.consumer.mode=batch}.
+ * A whole poll is decoded and persisted in one transaction; offsets are committed by the container
+ * only after this method returns. Records that cannot be decoded are published to their DLT without
+ * holding back the rest of the batch, and a record that makes the bulk insert fail is located and
+ * reported to the error handler so everything before it is committed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "notification.consumer.mode", havingValue = "batch")
+public class ReservationEventBatchConsumer {
+
+    private final ReservationEventDispatcher dispatcher;
+    private final DeadLetterPublishingRecoverer deadLetterPublishingRecoverer;
+    private final PipelineMetrics metrics;
+
+    @KafkaListener(
+            id = ReservationEventConsumer.LISTENER_ID,
+            topics = {
+                    "${notification.events.reservation-created}",
+                    "${notification.events.reservation-confirmed}",
+                    "${notification.events.reservation-cancelled}"
+            },
+            groupId = "notification-group",
+            containerFactory = "batchKafkaListenerContainerFactory"
+    )
+    public void consume(List<ConsumerRecord<String, String>> records) {
+        List<DecodedReservationEvent> events = new ArrayList<>(records.size());
+        List<Integer> eventIndexes = new ArrayList<>(records.size());
+        List<PoisonRecord> poisonRecords = new ArrayList<>();
+
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<String, String> record = records.get(i);
+            try {
+                events.add(dispatcher.decode(record));
+                eventIndexes.add(i);
+            } catch (Exception e) {
+                log.error("Unreadable record on {}-{}@{}", record.topic(), record.partition(), record.offset(), e);
+                poisonRecords.add(new PoisonRecord(i, record, e));
+            }
+        }
+
+        if (!events.isEmpty()) {
+            try {
+                dispatcher.processAll(events);
+            } catch (Exception bulkFailure) {
+                log.warn("Bulk insert of {} notifications failed, retrying one by one", events.size(), bulkFailure);
+                persistIndividually(events, eventIndexes, poisonRecords);
+            }
+        }
+
+        publishPoisonRecords(poisonRecords, records.size());
+        log.info("Batch of {} reservation events processed ({} sent to DLT)", records.size(), poisonRecords.size());
+    }
+
+    private void persistIndividually(List<DecodedReservationEvent> events, List<Integer> eventIndexes,
+                                     List<PoisonRecord> poisonRecords) {
+        for (int i = 0; i < events.size(); i++) {
+            try {
+                dispatcher.process(events.get(i));
+            } catch (Exception e) {
+                int failedIndex = eventIndexes.get(i);
+                // Records before the failing one are durable and will be committed by the error handler
+                publishPoisonRecords(poisonRecords, failedIndex);
+                throw new BatchListenerFailedException("Failed to persist notification", e, failedIndex);
+            }
+        }
+    }
+
+    private void publishPoisonRecords(List<PoisonRecord> poisonRecords, int beforeIndex) {
+        for (PoisonRecord poison : poisonRecords) {
+            if (poison.index() < beforeIndex) {
+                KafkaConsumerConfig.setAttempts(poison.record(), 1);
+                deadLetterPublishingRecoverer.accept(poison.record(), poison.cause());
+                metrics.recordDeadLetter(poison.record().topic());
+            }
+        }
+    }
+
+    private record PoisonRecord(int index, ConsumerRecord<String, String> record, Exception cause) {
+    }
+}
@@ -0,0 +1,57 @@
+package pt.nelsonalmeida.notification.events;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.DltHandler;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.stereotype.Component;
+import pt.nelsonalmeida.notification.service.PipelineMetrics;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "notification.consumer.mode", havingValue = "record", matchIfMissing = true)
+public class ReservationEventConsumer {
+
+    /** Id of the reservation listener in every consumer mode, used to pause and resume it. */
+    public static final String LISTENER_ID = "reservation-events";
+
+    private final ReservationEventDispatcher dispatcher;
+    private final PipelineMetrics metrics;
+
+    @RetryableTopic(
+            attempts = "3",
+            backoff = @Backoff(delay = 1000, multiplier = 2.0),
+            dltTopicSuffix = "-dlt"
+    )
+    @KafkaListener(
+            id = LISTENER_ID,
+            topics = {
+                    "${notification.events.reservation-created}",
+                    "${notification.events.reservation-confirmed}",
+                    "${notification.events.reservation-cancelled}"
+            },
+            groupId = "notification-group"
+    )
+    public void consume(ConsumerRecord<String, String> record) {
+        try {
+            dispatcher.dispatch(record);
+        } catch (Exception e) {
+            log.error("Error processing reservation event from topic {}", record.topic(), e);
+            throw e;
+        }
+    }
+
+    @DltHandler
+    public void handleDlt(String rawMessage, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
+        // The payload is kept by the dead-letter store, see DeadLetterConsumer
+        log.error("Message moved to DLT topic {}", topic);
+        metrics.recordDeadLetter(topic);
+    }
+}
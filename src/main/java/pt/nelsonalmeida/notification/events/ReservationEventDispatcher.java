@@ -0,0 +1,204 @@
+package pt.nelsonalmeida.notification.events;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import pt.nelsonalmeida.notification.dto.MessageEnvelope;
+import pt.nelsonalmeida.notification.dto.NotificationRequest;
+import pt.nelsonalmeida.notification.dto.ReservationCancelledEvent;
+import pt.nelsonalmeida.notification.dto.ReservationConfirmedEvent;
+import pt.nelsonalmeida.notification.dto.ReservationCreatedEvent;
+import pt.nelsonalmeida.notification.dto.ReservationEventType;
+import pt.nelsonalmeida.notification.repository.CoalescingRepository.BufferedEvent;
+import pt.nelsonalmeida.notification.service.MessageDeduplicator;
+import pt.nelsonalmeida.notification.service.NotificationCoalescer;
+import pt.nelsonalmeida.notification.service.NotificationService;
+import pt.nelsonalmeida.notification.service.PipelineMetrics;
+import pt.nelsonalmeida.notification.service.PipelineMetrics.Outcome;
+import pt.nelsonalmeida.notification.service.PipelineMetrics.Stage;
+import pt.nelsonalmeida.notification.util.ReservationEventDecoder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Single entry point for reservation events, whichever listener received them.
+ * Decodes the envelope, maps its payload to a {@link NotificationRequest} and hands it to the service,
+ * skipping messages whose {@code messageId} was already processed. With coalescing enabled the requests are
+ * buffered instead and emitted later, one per reservation.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservationEventDispatcher {
+
+    private final ReservationEventDecoder decoder;
+    private final NotificationService notificationService;
+    private final MessageDeduplicator deduplicator;
+    private final TransactionTemplate transactionTemplate;
+    private final ReservationTopics topics;
+    private final PipelineMetrics metrics;
+    private final Optional<NotificationCoalescer> coalescer;
+
+    public void dispatch(ConsumerRecord<String, String> record) {
+        process(decode(record));
+    }
+
+    public DecodedReservationEvent decode(ConsumerRecord<String, String> record) {
+        ReservationEventType topicType = topics.typeOf(record.topic());
+        long start = System.nanoTime();
+        try {
+            MessageEnvelope<Object> envelope = decoder.decode(record.value(), topicType);
+            DecodedReservationEvent event = toEvent(record.topic(), envelope);
+
+            metrics.recordStage(event.type(), Stage.DECODE, start);
+            metrics.recordConsumerLag(event.type(), record.timestamp());
+            if (topics.isRetryTopic(record.topic())) {
+                metrics.recordRetryDelivery(event.type());
+            }
+            return event;
+        } catch (RuntimeException e) {
+            if (topicType != null) {
+                metrics.recordOutcome(topicType, Outcome.FAILURE);
+            }
+            throw e;
+        }
+    }
+
+    public void process(DecodedReservationEvent event) {
+        NotificationRequest request = event.request();
+        if (deduplicator.isRecentDuplicate(event.messageId())) {
+            log.info("Skipping duplicate message {} for reservation: {}", event.messageId(), request.getReservationId());
+            metrics.recordOutcome(event.type(), Outcome.DUPLICATE);
+            return;
+        }
+
+        log.info("Consumer [{}] received event for reservation: {}", request.getEventType(), request.getReservationId());
+        long start = System.nanoTime();
+        Boolean created;
+        try {
+            created = transactionTemplate.execute(status -> {
+                if (!deduplicator.claim(event.messageId(), event.topic())) {
+                    return false;
+                }
+                if (coalescer.isPresent()) {
+                    coalescer.get().buffer(List.of(toBuffered(event)));
+                } else {
+                    notificationService.createNotification(request);
+                }
+                return true;
+            });
+        } catch (RuntimeException e) {
+            metrics.recordOutcome(event.type(), Outcome.FAILURE);
+            throw e;
+        }
+
+        if (Boolean.TRUE.equals(created)) {
+            metrics.recordStage(event.type(), Stage.PERSIST, start);
+            metrics.recordEndToEnd(event.type(), event.envelope().getTimestamp());
+            metrics.recordOutcome(event.type(), Outcome.SUCCESS);
+        } else {
+            log.info("Skipping duplicate message {} for reservation: {}", event.messageId(), request.getReservationId());
+            metrics.recordOutcome(event.type(), Outcome.DUPLICATE);
+        }
+    }
+
+    /**
+     * Persists a batch of events in one transaction, dropping duplicates both against
+     * earlier deliveries and within the batch itself.
+     */
+    public void processAll(List<DecodedReservationEvent> events) {
+        List<DecodedReservationEvent> candidates = new ArrayList<>(events.size());
+        List<DecodedReservationEvent> duplicates = new ArrayList<>();
+        Map<UUID, String> topicsById = new LinkedHashMap<>();
+        for (DecodedReservationEvent event : events) {
+            UUID messageId = event.messageId();
+            if (messageId == null) {
+                candidates.add(event);
+            } else if (!deduplicator.isRecentDuplicate(messageId) && topicsById.putIfAbsent(messageId, event.topic()) == null) {
+                candidates.add(event);
+            } else {
+                duplicates.add(event);
+            }
+        }
+
+        long start = System.nanoTime();
+        List<DecodedReservationEvent> persisted = new ArrayList<>(candidates.size());
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<UUID> claimed = deduplicator.claimAll(topicsById);
+            for (DecodedReservationEvent event : candidates) {
+                if (event.messageId() == null || claimed.contains(event.messageId())) {
+                    persisted.add(event);
+                } else {
+                    duplicates.add(event);
+                }
+            }
+            if (persisted.isEmpty()) {
+                return;
+            }
+            if (coalescer.isPresent()) {
+                coalescer.get().buffer(persisted.stream().map(ReservationEventDispatcher::toBuffered).toList());
+            } else {
+                notificationService.createNotifications(persisted.stream().map(DecodedReservationEvent::request).toList());
+            }
+        });
+        metrics.recordBatchPersist(events.size(), start);
+
+        for (DecodedReservationEvent event : persisted) {
+            metrics.recordEndToEnd(event.type(), event.envelope().getTimestamp());
+            metrics.recordOutcome(event.type(), Outcome.SUCCESS);
+        }
+        for (DecodedReservationEvent event : duplicates) {
+            metrics.recordOutcome(event.type(), Outcome.DUPLICATE);
+        }
+        if (!duplicates.isEmpty()) {
+            log.info("Skipped {} duplicate messages in batch of {}", duplicates.size(), events.size());
+        }
+    }
+
+    private static BufferedEvent toBuffered(DecodedReservationEvent event) {
+        NotificationRequest request = event.request();
+        Instant eventAt = event.envelope().getTimestamp() != null ? event.envelope().getTimestamp() : Instant.now();
+        return new BufferedEvent(request, eventAt, 1);
+    }
+
+    private static DecodedReservationEvent toEvent(String topic, MessageEnvelope<Object> envelope) {
+        return switch (envelope.getPayload()) {
+            case ReservationCreatedEvent event -> decoded(topic, envelope, ReservationEventType.CREATED,
+                    request(ReservationEventType.CREATED, event.getReservationId(), event.getCustomerEmail()));
+            case ReservationConfirmedEvent event -> decoded(topic, envelope, ReservationEventType.CONFIRMED,
+                    request(ReservationEventType.CONFIRMED, event.getReservationId(), event.getCustomerEmail())
+                            .scheduledAt(event.getScheduledAt())
+                            .numberOfPeople(event.getNumberOfPeople()));
+            case ReservationCancelledEvent event -> decoded(topic, envelope, ReservationEventType.CANCELLED,
+                    request(ReservationEventType.CANCELLED, event.getReservationId(), event.getCustomerEmail())
+                            .scheduledAt(event.getScheduledAt())
+                            .numberOfPeople(event.getNumberOfPeople())
+                            .reason(event.getReason())
+                            .cancelDate(event.getCancelDate()));
+            case null, default -> throw new IllegalArgumentException("Message without a reservation payload");
+        };
+    }
+
+    private static NotificationRequest.NotificationRequestBuilder request(ReservationEventType type, UUID reservationId,
+                                                                         String recipient) {
+        return NotificationRequest.builder()
+                .reservationId(reservationId)
+                .eventType(type.getNotificationEventType())
+                .recipient(recipient);
+    }
+
+    private static DecodedReservationEvent decoded(String topic, MessageEnvelope<Object> envelope,
+                                                   ReservationEventType type,
+                                                   NotificationRequest.NotificationRequestBuilder request) {
+        return new DecodedReservationEvent(topic, type, envelope, request.build());
+    }
+}
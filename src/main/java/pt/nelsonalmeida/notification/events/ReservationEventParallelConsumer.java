@@ -0,0 +1,121 @@
+package pt.nelsonalmeida.notification.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+import pt.nelsonalmeida.notification.config.KafkaConsumerConfig;
+import pt.nelsonalmeida.notification.config.NotificationConsumerProperties;
+import pt.nelsonalmeida.notification.service.PipelineMetrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parallel counterpart of {@link ReservationEventConsumer}, active when {@code notification.consumer.mode=parallel}.
+ * The listener thread only decodes; processing runs on a bounded pool of lanes keyed by reservation id, so
+ * events of one reservation keep their delivery order while other reservations from the same partition
+ * proceed concurrently. Acks are asynchronous and the container commits a partition only up to the
+ * lowest offset whose record, and every one before it, has been acknowledged.
+ * Failing records are retried in their lane (holding back only that lane) and then published to their DLT.
+ * Lanes run on virtual threads when {@code spring.threads.virtual.enabled} is set.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "notification.consumer.mode", havingValue = "parallel")
+public class ReservationEventParallelConsumer implements DisposableBean {
+
+    private final ReservationEventDispatcher dispatcher;
+    private final DeadLetterPublishingRecoverer deadLetterPublishingRecoverer;
+    private final PipelineMetrics metrics;
+    private final NotificationConsumerProperties.Parallel properties;
+    private final KeyOrderedExecutor executor;
+
+    public ReservationEventParallelConsumer(ReservationEventDispatcher dispatcher,
+                                            DeadLetterPublishingRecoverer deadLetterPublishingRecoverer,
+                                            PipelineMetrics metrics,
+                                            NotificationConsumerProperties consumerProperties,
+                                            Environment environment) {
+        this.dispatcher = dispatcher;
+        this.deadLetterPublishingRecoverer = deadLetterPublishingRecoverer;
+        this.metrics = metrics;
+        this.properties = consumerProperties.getParallel();
+        this.executor = new KeyOrderedExecutor("reservation-lane-", properties.getLanes(), properties.getMaxInFlight(),
+                Threading.VIRTUAL.isActive(environment));
+    }
+
+    @KafkaListener(
+            id = ReservationEventConsumer.LISTENER_ID,
+            topics = {
+                    "${notification.events.reservation-created}",
+                    "${notification.events.reservation-confirmed}",
+                    "${notification.events.reservation-cancelled}"
+            },
+            groupId = "notification-group",
+            containerFactory = "parallelKafkaListenerContainerFactory"
+    )
+    public void consume(ConsumerRecord<String, String> record, Acknowledgment ack) throws InterruptedException {
+        DecodedReservationEvent event;
+        try {
+            event = dispatcher.decode(record);
+        } catch (Exception e) {
+            log.error("Unreadable record on {}-{}@{}", record.topic(), record.partition(), record.offset(), e);
+            deadLetter(record, e, 1, ack);
+            return;
+        }
+        executor.execute(event.request().getReservationId(), () -> processWithRetry(record, event, ack));
+    }
+
+    private void processWithRetry(ConsumerRecord<String, String> record, DecodedReservationEvent event,
+                                  Acknowledgment ack) {
+        long backoff = properties.getRetryBackoff().toMillis();
+        for (int attempt = 0; ; attempt++) {
+            try {
+                dispatcher.process(event);
+                ack.acknowledge();
+                return;
+            } catch (Exception e) {
+                if (attempt >= properties.getMaxRetries()) {
+                    log.error("Giving up on {}-{}@{} after {} attempts", record.topic(), record.partition(),
+                            record.offset(), attempt + 1, e);
+                    deadLetter(record, e, attempt + 1, ack);
+                    return;
+                }
+                log.warn("Attempt {} failed for {}-{}@{}, retrying in {} ms", attempt + 1, record.topic(),
+                        record.partition(), record.offset(), backoff, e);
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                // Shutting down: leave the record unacknowledged so it is redelivered
+                Thread.currentThread().interrupt();
+                return;
+            }
+            metrics.recordRetryDelivery(event.type());
+            backoff *= 2;
+        }
+    }
+
+    private void deadLetter(ConsumerRecord<String, String> record, Exception cause, int attempts, Acknowledgment ack) {
+        try {
+            KafkaConsumerConfig.setAttempts(record, attempts);
+            deadLetterPublishingRecoverer.accept(record, cause);
+        } catch (Exception e) {
+            // Without an ack the offset stays uncommitted and the record is redelivered after a restart or rebalance
+            log.error("Failed to publish {}-{}@{} to its DLT", record.topic(), record.partition(), record.offset(), e);
+            return;
+        }
+        metrics.recordDeadLetter(record.topic());
+        ack.acknowledge();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown(properties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,51 @@
+package pt.nelsonalmeida.notification.events;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pt.nelsonalmeida.notification.dto.ReservationEventType;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The configured reservation topics and the event type carried by each.
+ */
+@Component
+public class ReservationTopics {
+
+    private final Map<ReservationEventType, String> topics = new EnumMap<>(ReservationEventType.class);
+
+    public ReservationTopics(@Value("${notification.events.reservation-created}") String createdTopic,
+                             @Value("${notification.events.reservation-confirmed}") String confirmedTopic,
+                             @Value("${notification.events.reservation-cancelled}") String cancelledTopic) {
+        topics.put(ReservationEventType.CREATED, createdTopic);
+        topics.put(ReservationEventType.CONFIRMED, confirmedTopic);
+        topics.put(ReservationEventType.CANCELLED, cancelledTopic);
+    }
+
+    public String topicOf(ReservationEventType type) {
+        return topics.get(type);
+    }
+
+    /**
+     * Resolves the event type of a topic, including the retry and DLT topics derived from it.
+     *
+     * @return The type, or null for an unrelated topic
+     */
+    public ReservationEventType typeOf(String topic) {
+        for (Map.Entry<ReservationEventType, String> entry : topics.entrySet()) {
+            String base = entry.getValue();
+            if (topic.equals(base) || topic.startsWith(base + "-")) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return true if the topic is one of the retry topics derived from a reservation topic
+     */
+    public boolean isRetryTopic(String topic) {
+        return !topics.containsValue(topic) && topic.contains("-retry");
+    }
+}
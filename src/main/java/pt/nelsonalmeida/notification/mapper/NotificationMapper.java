@@ -3,7 +3,9 @@ package pt.nelsonalmeida.notification.mapper;
 import org.springframework.stereotype.Component;
 import pt.nelsonalmeida.notification.dto.NotificationRequest;
 import pt.nelsonalmeida.notification.dto.NotificationResponse;
+import pt.nelsonalmeida.notification.dto.NotificationSnapshot;
 import pt.nelsonalmeida.notification.model.Notification;
+import pt.nelsonalmeida.notification.model.NotificationStatus;
 
 @Component
 public class NotificationMapper {
@@ -13,7 +15,7 @@ public class NotificationMapper {
                 .reservationId(request.getReservationId())
                 .eventType(request.getEventType())
                 .recipient(request.getRecipient())
-                .status(request.getStatus() != null ? request.getStatus() : "SENT")
+                .status(request.getStatus() != null ? request.getStatus() : NotificationStatus.PENDING.name())
                 .build();
     }
 
@@ -25,6 +27,17 @@ public class NotificationMapper {
                 .recipient(notification.getRecipient())
                 .status(notification.getStatus())
                 .sentAt(notification.getSentAt())
+                .version(notification.getVersion())
                 .build();
     }
-}
\ No newline at end of file
+
+    public NotificationSnapshot toSnapshot(Notification notification) {
+        return new NotificationSnapshot(notification.getId(), notification.getReservationId(), notification.getRecipient(),
+                notification.getEventType(), notification.getStatus(), notification.getSentAt());
+    }
+
+    public NotificationSnapshot toSnapshot(NotificationResponse notification) {
+        return new NotificationSnapshot(notification.getId(), notification.getReservationId(), notification.getRecipient(),
+                notification.getEventType(), notification.getStatus(), notification.getSentAt());
+    }
+}
@@ -0,0 +1,73 @@
+package pt.nelsonalmeida.notification.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A reservation event that exhausted its retries, as read back from its {@code -dlt} topic.
+ * {@code topic} is the reservation topic it was originally consumed from and will be replayed to.
+ */
+@Entity
+@Table(name = "dead_letter")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false)
+    private String topic;
+
+    @Column(name = "dlt_topic", nullable = false)
+    private String dltTopic;
+
+    @Column(name = "dlt_partition", nullable = false)
+    private int dltPartition;
+
+    @Column(name = "dlt_offset", nullable = false)
+    private long dltOffset;
+
+    @Column(name = "original_partition")
+    private Integer originalPartition;
+
+    @Column(name = "original_offset")
+    private Long originalOffset;
+
+    @Column(name = "message_key")
+    private String messageKey;
+
+    @Column(name = "message_id")
+    private UUID messageId;
+
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "exception_class")
+    private String exceptionClass;
+
+    @Column(name = "exception_message", columnDefinition = "TEXT")
+    private String exceptionMessage;
+
+    private Integer attempts;
+
+    @Column(name = "failed_at", nullable = false)
+    private LocalDateTime failedAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DeadLetterStatus status;
+
+    @Column(name = "replayed_at")
+    private LocalDateTime replayedAt;
+
+    /** The replay that claimed it last, which owns it while it is REPLAYING. */
+    @Column(name = "replay_id")
+    private UUID replayId;
+}
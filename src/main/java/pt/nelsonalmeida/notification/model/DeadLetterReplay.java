@@ -0,0 +1,45 @@
+package pt.nelsonalmeida.notification.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A replay of dead letters and its progress. While it runs, the instance replaying it keeps moving
+ * {@code heartbeatAt}; a RUNNING replay whose heartbeat stopped is abandoned and its records released.
+ */
+@Entity
+@Table(name = "dead_letter_replay")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetterReplay {
+
+    @Id
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReplayState state;
+
+    @Column(nullable = false)
+    private int total;
+
+    @Column(nullable = false)
+    private int replayed;
+
+    @Column(nullable = false)
+    private int failed;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "heartbeat_at", nullable = false)
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,7 @@
+package pt.nelsonalmeida.notification.model;
+
+public enum DeadLetterStatus {
+    NEW,
+    REPLAYING,
+    REPLAYED
+}
@@ -15,7 +15,7 @@ import java.util.UUID;
 public class Notification {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedId
     private UUID id;
 
     @Column(name = "reservation_id", nullable = false)
@@ -30,9 +30,13 @@ public class Notification {
     @Column(nullable = false)
     private String status;
 
-    @Column(name = "sent_at")
+    @Column(name = "sent_at", nullable = false)
     private LocalDateTime sentAt;
 
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     @PrePersist
     public void prePersist() {
         if (this.sentAt == null) {
@@ -0,0 +1,20 @@
+package pt.nelsonalmeida.notification.model;
+
+import java.util.Set;
+
+public enum NotificationStatus {
+    PENDING,
+    SENT,
+    FAILED;
+
+    /**
+     * Statuses a notification may move to this one from: delivery settles a PENDING
+     * notification, and only a FAILED one can be put back for another attempt.
+     */
+    public Set<NotificationStatus> allowedPredecessors() {
+        return switch (this) {
+            case PENDING -> Set.of(FAILED);
+            case SENT, FAILED -> Set.of(PENDING);
+        };
+    }
+}
@@ -0,0 +1,81 @@
+package pt.nelsonalmeida.notification.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import pt.nelsonalmeida.notification.config.OutboxProperties;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A message waiting to be delivered for a notification. Written in the same transaction
+ * as the notification and delivered later by the outbox dispatcher.
+ * While a row is PENDING or PROCESSING, {@code availableAt} is the earliest time it may be
+ * (re)claimed: the retry time for PENDING rows and the lease expiry for PROCESSING ones.
+ */
+@Entity
+@Table(name = "notification_outbox")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxMessage {
+
+    @Id
+    @TimeOrderedId
+    private UUID id;
+
+    @Column(name = "notification_id", nullable = false)
+    private UUID notificationId;
+
+    @Column(nullable = false)
+    private String channel;
+
+    @Column(nullable = false)
+    private String lane;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    /** When a claimed row became deliverable, i.e. its {@code availableAt} before the lease replaced it. */
+    @Transient
+    private LocalDateTime readyAt;
+
+    @PrePersist
+    public void prePersist() {
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
+        if (this.availableAt == null) {
+            this.availableAt = this.createdAt;
+        }
+        if (this.lane == null) {
+            this.lane = OutboxProperties.DEFAULT_LANE;
+        }
+        if (this.status == null) {
+            this.status = OutboxStatus.PENDING;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package pt.nelsonalmeida.notification.model;
+
+public enum OutboxStatus {
+    PENDING,
+    PROCESSING,
+    SENT,
+    FAILED
+}
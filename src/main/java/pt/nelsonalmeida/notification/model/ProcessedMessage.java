@@ -0,0 +1,26 @@
+package pt.nelsonalmeida.notification.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "processed_message")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessedMessage {
+
+    @Id
+    @Column(name = "message_id")
+    private UUID messageId;
+
+    @Column(nullable = false)
+    private String topic;
+
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt;
+}
@@ -0,0 +1,8 @@
+package pt.nelsonalmeida.notification.model;
+
+public enum ReplayState {
+    RUNNING,
+    COMPLETED,
+    /** Its instance died or the job failed; the records it had not finished went back to NEW. */
+    ABANDONED
+}
@@ -0,0 +1,131 @@
+package pt.nelsonalmeida.notification.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import pt.nelsonalmeida.notification.dto.NotificationRequest;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Buffer of reservation events for {@code notification_coalesce}.
+ * Later events of a reservation overwrite its state (by event time, so late arrivals from another topic
+ * cannot roll it back) but never move its flush time.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CoalescingRepository {
+
+    private static final String UPSERT = """
+            INSERT INTO notification_coalesce AS c (reservation_id, event_type, recipient, scheduled_at, number_of_people,
+                                                    reason, cancel_date, event_at, event_count, flush_at)
+            SELECT e.reservation_id, e.event_type, e.recipient, e.scheduled_at, e.number_of_people,
+                   e.reason, e.cancel_date, e.event_at, e.event_count, now() + make_interval(secs => ?)
+            FROM unnest(?::uuid[], ?::text[], ?::text[], ?::timestamp[], ?::int[], ?::text[], ?::timestamp[], ?::timestamp[], ?::int[])
+                AS e(reservation_id, event_type, recipient, scheduled_at, number_of_people, reason, cancel_date, event_at, event_count)
+            ON CONFLICT (reservation_id) DO UPDATE SET
+                event_type = CASE WHEN excluded.event_at >= c.event_at THEN excluded.event_type ELSE c.event_type END,
+                recipient = CASE WHEN excluded.event_at >= c.event_at THEN excluded.recipient ELSE c.recipient END,
+                scheduled_at = CASE WHEN excluded.event_at >= c.event_at THEN excluded.scheduled_at ELSE c.scheduled_at END,
+                number_of_people = CASE WHEN excluded.event_at >= c.event_at THEN excluded.number_of_people ELSE c.number_of_people END,
+                reason = CASE WHEN excluded.event_at >= c.event_at THEN excluded.reason ELSE c.reason END,
+                cancel_date = CASE WHEN excluded.event_at >= c.event_at THEN excluded.cancel_date ELSE c.cancel_date END,
+                event_at = GREATEST(c.event_at, excluded.event_at),
+                event_count = c.event_count + excluded.event_count
+            """;
+
+    private static final String TAKE_DUE = """
+            DELETE FROM notification_coalesce
+            WHERE reservation_id IN (
+                SELECT reservation_id FROM notification_coalesce
+                WHERE flush_at <= now()
+                ORDER BY flush_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED)
+            RETURNING reservation_id, event_type, recipient, scheduled_at, number_of_people, reason, cancel_date,
+                      event_at, event_count
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Buffers events, at most one per reservation.
+     */
+    public void bufferAll(Collection<BufferedEvent> events, Duration window) {
+        int size = events.size();
+        Object[] ids = new Object[size];
+        Object[] types = new Object[size];
+        Object[] recipients = new Object[size];
+        Object[] scheduledAts = new Object[size];
+        Object[] people = new Object[size];
+        Object[] reasons = new Object[size];
+        Object[] cancelDates = new Object[size];
+        Object[] times = new Object[size];
+        Object[] counts = new Object[size];
+        int i = 0;
+        for (BufferedEvent event : events) {
+            NotificationRequest request = event.request();
+            ids[i] = request.getReservationId();
+            types[i] = request.getEventType();
+            recipients[i] = request.getRecipient();
+            scheduledAts[i] = request.getScheduledAt() != null ? Timestamp.valueOf(request.getScheduledAt()) : null;
+            people[i] = request.getNumberOfPeople();
+            reasons[i] = request.getReason();
+            cancelDates[i] = request.getCancelDate() != null ? Timestamp.valueOf(request.getCancelDate()) : null;
+            times[i] = Timestamp.from(event.eventAt());
+            counts[i] = event.eventCount();
+            i++;
+        }
+        jdbcTemplate.update(UPSERT, ps -> {
+            ps.setDouble(1, window.toMillis() / 1000.0);
+            ps.setArray(2, ps.getConnection().createArrayOf("uuid", ids));
+            ps.setArray(3, ps.getConnection().createArrayOf("text", types));
+            ps.setArray(4, ps.getConnection().createArrayOf("text", recipients));
+            ps.setArray(5, ps.getConnection().createArrayOf("timestamp", scheduledAts));
+            ps.setArray(6, ps.getConnection().createArrayOf("int4", people));
+            ps.setArray(7, ps.getConnection().createArrayOf("text", reasons));
+            ps.setArray(8, ps.getConnection().createArrayOf("timestamp", cancelDates));
+            ps.setArray(9, ps.getConnection().createArrayOf("timestamp", times));
+            ps.setArray(10, ps.getConnection().createArrayOf("int4", counts));
+        });
+    }
+
+    /**
+     * Removes and returns reservations whose window has elapsed, skipping rows another instance is flushing.
+     */
+    public List<BufferedEvent> takeDue(int limit) {
+        List<BufferedEvent> due = new ArrayList<>();
+        jdbcTemplate.query(TAKE_DUE, ps -> ps.setInt(1, limit), rs -> {
+            due.add(new BufferedEvent(
+                    NotificationRequest.builder()
+                            .reservationId(rs.getObject("reservation_id", UUID.class))
+                            .eventType(rs.getString("event_type"))
+                            .recipient(rs.getString("recipient"))
+                            .scheduledAt(rs.getObject("scheduled_at", LocalDateTime.class))
+                            .numberOfPeople(rs.getObject("number_of_people", Integer.class))
+                            .reason(rs.getString("reason"))
+                            .cancelDate(rs.getObject("cancel_date", LocalDateTime.class))
+                            .build(),
+                    rs.getTimestamp("event_at").toInstant(),
+                    rs.getInt("event_count")));
+        });
+        return due;
+    }
+
+    /**
+     * An event's notification request, with its time and the number of events it stands for.
+     */
+    public record BufferedEvent(NotificationRequest request, Instant eventAt, int eventCount) {
+
+        public UUID reservationId() {
+            return request.getReservationId();
+        }
+    }
+}
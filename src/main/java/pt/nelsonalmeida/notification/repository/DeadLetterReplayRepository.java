@@ -0,0 +1,59 @@
+package pt.nelsonalmeida.notification.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import pt.nelsonalmeida.notification.model.DeadLetterReplay;
+import pt.nelsonalmeida.notification.model.ReplayState;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface DeadLetterReplayRepository extends JpaRepository<DeadLetterReplay, UUID> {
+
+    /**
+     * Adds to a running replay's counts and moves its heartbeat.
+     *
+     * @return 0 if the replay is no longer running, i.e. it was abandoned meanwhile
+     */
+    @Modifying
+    @Query("""
+            UPDATE DeadLetterReplay r
+            SET r.replayed = r.replayed + :replayed, r.failed = r.failed + :failed, r.heartbeatAt = :now
+            WHERE r.id = :id AND r.state = pt.nelsonalmeida.notification.model.ReplayState.RUNNING
+            """)
+    int recordProgress(@Param("id") UUID id, @Param("replayed") int replayed, @Param("failed") int failed,
+                       @Param("now") LocalDateTime now);
+
+    /** Ends a running replay; one that was abandoned meanwhile stays abandoned. */
+    @Modifying
+    @Query("""
+            UPDATE DeadLetterReplay r SET r.state = :state, r.finishedAt = :now
+            WHERE r.id = :id AND r.state = pt.nelsonalmeida.notification.model.ReplayState.RUNNING
+            """)
+    int finish(@Param("id") UUID id, @Param("state") ReplayState state, @Param("now") LocalDateTime now);
+
+    @Query("""
+            SELECT r.id FROM DeadLetterReplay r
+            WHERE r.state = pt.nelsonalmeida.notification.model.ReplayState.RUNNING AND r.heartbeatAt < :before
+            """)
+    List<UUID> findStale(@Param("before") LocalDateTime before);
+
+    /** Abandons a running replay, unless its heartbeat moved since it was found stale. */
+    @Modifying
+    @Query("""
+            UPDATE DeadLetterReplay r
+            SET r.state = pt.nelsonalmeida.notification.model.ReplayState.ABANDONED, r.finishedAt = :now
+            WHERE r.id = :id AND r.state = pt.nelsonalmeida.notification.model.ReplayState.RUNNING
+                AND r.heartbeatAt < :before
+            """)
+    int abandon(@Param("id") UUID id, @Param("before") LocalDateTime before, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM DeadLetterReplay r WHERE r.finishedAt < :before")
+    int deleteFinishedBefore(@Param("before") LocalDateTime before);
+}
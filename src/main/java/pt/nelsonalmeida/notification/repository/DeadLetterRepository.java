@@ -0,0 +1,49 @@
+package pt.nelsonalmeida.notification.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import pt.nelsonalmeida.notification.model.DeadLetter;
+import pt.nelsonalmeida.notification.model.DeadLetterStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+@Repository
+public interface DeadLetterRepository extends JpaRepository<DeadLetter, UUID>, JpaSpecificationExecutor<DeadLetter> {
+
+    boolean existsByDltTopicAndDltPartitionAndDltOffset(String dltTopic, int dltPartition, long dltOffset);
+
+    @Modifying
+    @Query("""
+            UPDATE DeadLetter d SET d.status = pt.nelsonalmeida.notification.model.DeadLetterStatus.REPLAYING,
+                d.replayId = :replayId
+            WHERE d.id IN :ids
+            """)
+    int claim(@Param("ids") Collection<UUID> ids, @Param("replayId") UUID replayId);
+
+    /** Moves records of a replay on, as long as that replay still owns them. */
+    @Modifying
+    @Query("""
+            UPDATE DeadLetter d SET d.status = :status, d.replayedAt = :replayedAt
+            WHERE d.id IN :ids AND d.replayId = :replayId
+                AND d.status = pt.nelsonalmeida.notification.model.DeadLetterStatus.REPLAYING
+            """)
+    int updateStatus(@Param("ids") Collection<UUID> ids,
+                     @Param("replayId") UUID replayId,
+                     @Param("status") DeadLetterStatus status,
+                     @Param("replayedAt") LocalDateTime replayedAt);
+
+    /** Makes the records a replay did not finish selectable again. */
+    @Modifying
+    @Query("""
+            UPDATE DeadLetter d SET d.status = pt.nelsonalmeida.notification.model.DeadLetterStatus.NEW
+            WHERE d.replayId IN :replayIds
+                AND d.status = pt.nelsonalmeida.notification.model.DeadLetterStatus.REPLAYING
+            """)
+    int release(@Param("replayIds") Collection<UUID> replayIds);
+}
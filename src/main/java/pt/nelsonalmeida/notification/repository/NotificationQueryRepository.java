@@ -0,0 +1,195 @@
+package pt.nelsonalmeida.notification.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import pt.nelsonalmeida.notification.config.QueryProperties;
+import pt.nelsonalmeida.notification.dto.NotificationResponse;
+import pt.nelsonalmeida.notification.dto.NotificationSearchCriteria;
+import pt.nelsonalmeida.notification.dto.NotificationSearchResult;
+import pt.nelsonalmeida.notification.dto.NotificationSnapshot;
+import pt.nelsonalmeida.notification.dto.NotificationSummary;
+import pt.nelsonalmeida.notification.util.KeysetCursor;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Plain JDBC reads that JPA is not a good fit for: they bypass the persistence context and map
+ * rows straight to DTOs.
+ */
+@Repository
+public class NotificationQueryRepository {
+
+    static final RowMapper<NotificationResponse> RESPONSE_MAPPER = (rs, rowNum) -> NotificationResponse.builder()
+            .id(rs.getObject("id", UUID.class))
+            .reservationId(rs.getObject("reservation_id", UUID.class))
+            .eventType(rs.getString("event_type"))
+            .recipient(rs.getString("recipient"))
+            .status(rs.getString("status"))
+            .sentAt(rs.getObject("sent_at", LocalDateTime.class))
+            .version(rs.getLong("version"))
+            .build();
+
+    /** Everything {@link #RESPONSE_MAPPER} reads. */
+    private static final String RESPONSE_COLUMNS = "id, reservation_id, event_type, recipient, status, sent_at, version";
+
+    /** Names given to partitions by NotificationPartitionMaintenance and V7; also guards the dynamic SQL below. */
+    public static final Pattern PARTITION_NAME = Pattern.compile("notification_p\\d{6}(\\d{2})?");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    public NotificationQueryRepository(JdbcTemplate jdbcTemplate, DataSource dataSource, QueryProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(properties.getExportFetchSize());
+    }
+
+    /**
+     * Fetches the notifications of several reservations with one {@code = ANY(?)} lookup on
+     * {@code idx_notification_reservation_id}, grouped by reservation in the order requested.
+     * Reservations without notifications map to an empty list.
+     */
+    public Map<UUID, List<NotificationSummary>> findSummariesByReservationIds(Collection<UUID> reservationIds) {
+        Map<UUID, List<NotificationSummary>> grouped = new LinkedHashMap<>();
+        reservationIds.forEach(id -> grouped.put(id, new ArrayList<>()));
+
+        jdbcTemplate.query("""
+                        SELECT id, reservation_id, event_type, recipient, status, sent_at
+                        FROM notification
+                        WHERE reservation_id = ANY(?)
+                        ORDER BY sent_at, id
+                        """,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", reservationIds.toArray())),
+                rs -> {
+                    grouped.get(rs.getObject("reservation_id", UUID.class)).add(new NotificationSummary(
+                            rs.getObject("id", UUID.class),
+                            rs.getString("event_type"),
+                            rs.getString("recipient"),
+                            rs.getString("status"),
+                            rs.getObject("sent_at", LocalDateTime.class)));
+                });
+        return grouped;
+    }
+
+    /**
+     * One page of notifications matching {@code criteria} in {@code (sent_at, id)} order, starting after
+     * {@code after} when it is not null.
+     */
+    public List<NotificationSearchResult> search(NotificationSearchCriteria criteria, KeysetCursor after, int limit) {
+        SearchQuery query = searchQuery(criteria, after, limit);
+        return jdbcTemplate.query(query.sql(), (rs, rowNum) -> new NotificationSearchResult(
+                rs.getObject("id", UUID.class),
+                rs.getObject("reservation_id", UUID.class),
+                rs.getString("event_type"),
+                rs.getString("recipient"),
+                rs.getString("status"),
+                rs.getObject("sent_at", LocalDateTime.class),
+                rs.getLong("version")), query.args().toArray());
+    }
+
+    /**
+     * Composes the search from the filters that are set. Every filter has an index leading with its column
+     * and continuing with {@code (sent_at, id)} (V13), so each combination is served by an index scan.
+     */
+    static SearchQuery searchQuery(NotificationSearchCriteria criteria, KeysetCursor after, int limit) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (criteria.recipient() != null) {
+            conditions.add("lower(recipient) = ?");
+            args.add(criteria.recipient().toLowerCase(Locale.ROOT));
+        }
+        if (criteria.recipientPrefix() != null) {
+            conditions.add("lower(recipient) LIKE ?");
+            args.add(escapeLike(criteria.recipientPrefix().toLowerCase(Locale.ROOT)) + "%");
+        }
+        if (criteria.status() != null) {
+            conditions.add("status = ?");
+            args.add(criteria.status());
+        }
+        if (criteria.eventType() != null) {
+            conditions.add("event_type = ?");
+            args.add(criteria.eventType());
+        }
+        if (criteria.from() != null) {
+            conditions.add("sent_at >= ?");
+            args.add(criteria.from());
+        }
+        if (criteria.to() != null) {
+            conditions.add("sent_at < ?");
+            args.add(criteria.to());
+        }
+        if (after != null) {
+            conditions.add("(sent_at, id) > (?, ?)");
+            args.add(after.sentAt());
+            args.add(after.id());
+        }
+        args.add(limit);
+
+        String sql = "SELECT " + RESPONSE_COLUMNS + " FROM notification"
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY sent_at, id LIMIT ?";
+        return new SearchQuery(sql, args);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    record SearchQuery(String sql, List<Object> args) {
+    }
+
+    /**
+     * Deletes the given notifications with one statement.
+     *
+     * @return The notifications that existed and were deleted
+     */
+    public List<NotificationSnapshot> deleteAllById(Collection<UUID> ids) {
+        return jdbcTemplate.query("DELETE FROM notification WHERE id = ANY(?) RETURNING id, reservation_id, recipient, event_type, status, sent_at",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids.toArray())),
+                (rs, rowNum) -> new NotificationSnapshot(
+                        rs.getObject("id", UUID.class),
+                        rs.getObject("reservation_id", UUID.class),
+                        rs.getString("recipient"),
+                        rs.getString("event_type"),
+                        rs.getString("status"),
+                        rs.getObject("sent_at", LocalDateTime.class)));
+    }
+
+    /**
+     * Streams every notification in {@code (sent_at, id)} order through a server-side cursor,
+     * holding at most one fetch of rows in memory. Must run inside a transaction: PostgreSQL
+     * only honours the fetch size when autocommit is off.
+     */
+    public void streamAll(Consumer<NotificationResponse> consumer) {
+        streamingJdbcTemplate.query(
+                "SELECT " + RESPONSE_COLUMNS + " FROM notification ORDER BY sent_at, id",
+                rs -> {
+                    consumer.accept(RESPONSE_MAPPER.mapRow(rs, 0));
+                });
+    }
+
+    /**
+     * Streams a notification partition, attached or detached, like {@link #streamAll}.
+     */
+    public void streamPartition(String partition, Consumer<NotificationResponse> consumer) {
+        if (!PARTITION_NAME.matcher(partition).matches()) {
+            throw new IllegalArgumentException("Not a notification partition: " + partition);
+        }
+        streamingJdbcTemplate.query(
+                "SELECT " + RESPONSE_COLUMNS + " FROM " + partition + " ORDER BY sent_at, id",
+                rs -> {
+                    consumer.accept(RESPONSE_MAPPER.mapRow(rs, 0));
+                });
+    }
+}
@@ -1,11 +1,29 @@
 package pt.nelsonalmeida.notification.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import pt.nelsonalmeida.notification.dto.NotificationSummary;
 import pt.nelsonalmeida.notification.model.Notification;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, UUID> {
-}
\ No newline at end of file
+
+    @Query(value = "SELECT * FROM notification ORDER BY sent_at, id LIMIT :limit", nativeQuery = true)
+    List<Notification> findFirstPage(@Param("limit") int limit);
+
+    @Query(value = """
+            SELECT * FROM notification
+            WHERE (sent_at, id) > (:sentAt, :id)
+            ORDER BY sent_at, id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Notification> findPageAfter(@Param("sentAt") LocalDateTime sentAt, @Param("id") UUID id, @Param("limit") int limit);
+
+    List<NotificationSummary> findByReservationIdOrderBySentAtAscIdAsc(UUID reservationId);
+}
@@ -0,0 +1,87 @@
+package pt.nelsonalmeida.notification.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import pt.nelsonalmeida.notification.dto.NotificationStatsBucket;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class NotificationStatsRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Adds each bucket's count to the stored one. Callers should pass the buckets in a fixed order
+     * so that instances flushing concurrently lock rows in the same order.
+     */
+    public void addAll(List<NotificationStatsBucket> deltas) {
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO notification_stats (bucket_hour, event_type, status, count)
+                        VALUES (?, ?, ?, ?)
+                        ON CONFLICT (bucket_hour, event_type, status)
+                        DO UPDATE SET count = notification_stats.count + EXCLUDED.count
+                        """,
+                deltas, deltas.size(), (ps, delta) -> {
+                    ps.setTimestamp(1, Timestamp.valueOf(delta.hour()));
+                    ps.setString(2, delta.eventType());
+                    ps.setString(3, delta.status());
+                    ps.setLong(4, delta.count());
+                });
+    }
+
+    /**
+     * Replaces the buckets of the hours in {@code [from, to)} with a count of the notifications in them.
+     * Must run in a transaction, which it skips (returning {@code null}) when another one is already recounting.
+     *
+     * @return the number of buckets written
+     */
+    public Integer recount(LocalDateTime from, LocalDateTime to) {
+        Boolean locked = jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(hashtext('notification_stats_recount'))", Boolean.class);
+        if (!Boolean.TRUE.equals(locked)) {
+            return null;
+        }
+        Timestamp start = Timestamp.valueOf(from);
+        Timestamp end = Timestamp.valueOf(to);
+        jdbcTemplate.update("DELETE FROM notification_stats WHERE bucket_hour >= ? AND bucket_hour < ?", start, end);
+        return jdbcTemplate.update("""
+                INSERT INTO notification_stats (bucket_hour, event_type, status, count)
+                SELECT date_trunc('hour', sent_at), event_type, status, count(*)
+                FROM notification
+                WHERE sent_at >= ? AND sent_at < ?
+                GROUP BY 1, 2, 3
+                """, start, end);
+    }
+
+    /**
+     * Non-empty buckets with {@code from <= hour < to}, optionally narrowed to one event type
+     * and/or status.
+     */
+    public List<NotificationStatsBucket> find(LocalDateTime from, LocalDateTime to, String eventType, String status) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT bucket_hour, event_type, status, count
+                FROM notification_stats
+                WHERE bucket_hour >= ? AND bucket_hour < ? AND count <> 0""");
+        List<Object> args = new ArrayList<>(List.of(Timestamp.valueOf(from), Timestamp.valueOf(to)));
+        if (eventType != null) {
+            sql.append(" AND event_type = ?");
+            args.add(eventType);
+        }
+        if (status != null) {
+            sql.append(" AND status = ?");
+            args.add(status);
+        }
+        sql.append(" ORDER BY bucket_hour, event_type, status");
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new NotificationStatsBucket(
+                rs.getObject("bucket_hour", LocalDateTime.class),
+                rs.getString("event_type"),
+                rs.getString("status"),
+                rs.getLong("count")), args.toArray());
+    }
+}
@@ -0,0 +1,161 @@
+package pt.nelsonalmeida.notification.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import pt.nelsonalmeida.notification.dto.NotificationRequest;
+import pt.nelsonalmeida.notification.dto.NotificationResponse;
+import pt.nelsonalmeida.notification.dto.NotificationSnapshot;
+import pt.nelsonalmeida.notification.model.NotificationStatus;
+
+import java.sql.Array;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Single-statement conditional writes: each one checks the id, the expected version and any
+ * other precondition in its {@code WHERE} clause and reports the new row through
+ * {@code RETURNING}, so a successful write is one round trip. An empty result means the
+ * precondition failed; {@link #findState} tells the caller which one.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationWriteRepository {
+
+    /**
+     * The write's {@code FROM} subquery locks the target row and keeps its previous values, which
+     * {@code RETURNING} reports next to the new ones.
+     */
+    private static final String RETURNING = """
+            RETURNING n.id, n.reservation_id, n.event_type, n.recipient, n.status, n.sent_at, n.version,
+                      previous.reservation_id AS previous_reservation_id, previous.recipient AS previous_recipient,
+                      previous.event_type AS previous_event_type, previous.status AS previous_status""";
+
+    private static final RowMapper<Change> CHANGE_MAPPER = (rs, rowNum) -> {
+        NotificationResponse current = NotificationQueryRepository.RESPONSE_MAPPER.mapRow(rs, rowNum);
+        NotificationSnapshot previous = new NotificationSnapshot(current.getId(),
+                rs.getObject("previous_reservation_id", UUID.class), rs.getString("previous_recipient"),
+                rs.getString("previous_event_type"), rs.getString("previous_status"), current.getSentAt());
+        return new Change(previous, current);
+    };
+
+    private static final RowMapper<NotificationSnapshot> SNAPSHOT_MAPPER = (rs, rowNum) -> new NotificationSnapshot(
+            rs.getObject("id", UUID.class),
+            rs.getObject("reservation_id", UUID.class),
+            rs.getString("recipient"),
+            rs.getString("event_type"),
+            rs.getString("status"),
+            rs.getObject("sent_at", LocalDateTime.class));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Replaces the notification's fields, keeping its status when the request has none.
+     *
+     * @param expectedVersion Version the caller last saw, or null to update unconditionally
+     */
+    public Optional<Change> update(UUID id, NotificationRequest request, Long expectedVersion) {
+        String sql = """
+                UPDATE notification n
+                SET reservation_id = ?, event_type = ?, recipient = ?, status = COALESCE(?, n.status), version = n.version + 1
+                FROM (SELECT id, sent_at, reservation_id, recipient, event_type, status FROM notification
+                      WHERE id = ?""" + versionCondition(expectedVersion) + """
+                 FOR UPDATE) previous
+                WHERE n.id = previous.id AND n.sent_at = previous.sent_at
+                """ + RETURNING;
+        List<Change> rows = jdbcTemplate.query(sql, ps -> {
+            ps.setObject(1, request.getReservationId());
+            ps.setString(2, request.getEventType());
+            ps.setString(3, request.getRecipient());
+            ps.setString(4, request.getStatus());
+            ps.setObject(5, id);
+            if (expectedVersion != null) {
+                ps.setLong(6, expectedVersion);
+            }
+        }, CHANGE_MAPPER);
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * Moves the notification to {@code status} if its current status is one of
+     * {@link NotificationStatus#allowedPredecessors()}.
+     */
+    public Optional<Change> updateStatus(UUID id, NotificationStatus status, Long expectedVersion) {
+        String sql = """
+                UPDATE notification n
+                SET status = ?, version = n.version + 1
+                FROM (SELECT id, sent_at, reservation_id, recipient, event_type, status FROM notification
+                      WHERE id = ? AND status = ANY(?)""" + versionCondition(expectedVersion) + """
+                 FOR UPDATE) previous
+                WHERE n.id = previous.id AND n.sent_at = previous.sent_at
+                """ + RETURNING;
+        List<Change> rows = jdbcTemplate.query(sql, ps -> {
+            Array from = ps.getConnection().createArrayOf("varchar",
+                    status.allowedPredecessors().stream().map(Enum::name).toArray());
+            ps.setString(1, status.name());
+            ps.setObject(2, id);
+            ps.setArray(3, from);
+            if (expectedVersion != null) {
+                ps.setLong(4, expectedVersion);
+            }
+        }, CHANGE_MAPPER);
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * Sets the status of several notifications, locking them in id order so concurrent batches
+     * cannot deadlock.
+     *
+     * @return The notifications that existed, as they were before the update
+     */
+    public List<NotificationSnapshot> updateStatuses(Collection<UUID> ids, String status) {
+        return jdbcTemplate.query("""
+                        UPDATE notification n
+                        SET status = ?, version = n.version + 1
+                        FROM (SELECT id, sent_at, status FROM notification
+                              WHERE id = ANY(?) ORDER BY id FOR UPDATE) previous
+                        WHERE n.id = previous.id AND n.sent_at = previous.sent_at
+                        RETURNING n.id, n.reservation_id, n.recipient, n.event_type, previous.status, n.sent_at
+                        """,
+                ps -> {
+                    ps.setString(1, status);
+                    ps.setArray(2, ps.getConnection().createArrayOf("uuid", ids.toArray()));
+                },
+                SNAPSHOT_MAPPER);
+    }
+
+    /**
+     * @return The deleted notification, or empty if no row matched
+     */
+    public Optional<NotificationSnapshot> delete(UUID id, Long expectedVersion) {
+        String sql = "DELETE FROM notification WHERE id = ?" + versionCondition(expectedVersion)
+                + " RETURNING id, reservation_id, recipient, event_type, status, sent_at";
+        List<NotificationSnapshot> rows = expectedVersion == null
+                ? jdbcTemplate.query(sql, SNAPSHOT_MAPPER, id)
+                : jdbcTemplate.query(sql, SNAPSHOT_MAPPER, id, expectedVersion);
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * Current status and version of a notification; only read after a conditional write
+     * matched nothing, to tell a missing row from a failed precondition.
+     */
+    public Optional<State> findState(UUID id) {
+        return jdbcTemplate.query("SELECT status, version FROM notification WHERE id = ?",
+                (rs, rowNum) -> new State(rs.getString("status"), rs.getLong("version")), id).stream().findFirst();
+    }
+
+    private static String versionCondition(Long expectedVersion) {
+        return expectedVersion != null ? " AND version = ?" : "";
+    }
+
+    public record State(String status, long version) {
+    }
+
+    public record Change(NotificationSnapshot before, NotificationResponse after) {
+    }
+}
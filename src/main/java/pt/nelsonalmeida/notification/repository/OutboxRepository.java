@@ -0,0 +1,69 @@
+package pt.nelsonalmeida.notification.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import pt.nelsonalmeida.notification.model.OutboxMessage;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxMessage, UUID> {
+
+    /**
+     * Locks up to {@code limit} deliverable rows, skipping rows already locked by another dispatcher.
+     * Covers both new/retried rows and PROCESSING rows whose lease expired.
+     */
+    @Query(value = """
+            SELECT * FROM notification_outbox
+            WHERE status IN ('PENDING', 'PROCESSING') AND available_at <= :now
+            ORDER BY available_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxMessage> lockDeliverable(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Like {@link #lockDeliverable(LocalDateTime, int)}, restricted to one lane.
+     */
+    @Query(value = """
+            SELECT * FROM notification_outbox
+            WHERE lane = :lane AND status IN ('PENDING', 'PROCESSING') AND available_at <= :now
+            ORDER BY available_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxMessage> lockDeliverable(@Param("lane") String lane, @Param("now") LocalDateTime now,
+                                        @Param("limit") int limit);
+
+    /**
+     * Like {@link #lockDeliverable(LocalDateTime, int)}, restricted to rows outside the given lanes.
+     */
+    @Query(value = """
+            SELECT * FROM notification_outbox
+            WHERE lane NOT IN (:lanes) AND status IN ('PENDING', 'PROCESSING') AND available_at <= :now
+            ORDER BY available_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxMessage> lockDeliverableOutside(@Param("lanes") Collection<String> lanes,
+                                               @Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Locks the given rows while a delivery outcome is recorded, so a dispatcher cannot reclaim one meanwhile.
+     */
+    @Query(value = "SELECT * FROM notification_outbox WHERE id IN (:ids) FOR UPDATE", nativeQuery = true)
+    List<OutboxMessage> lockAllById(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT count(o) FROM OutboxMessage o WHERE o.status IN (pt.nelsonalmeida.notification.model.OutboxStatus.PENDING, pt.nelsonalmeida.notification.model.OutboxStatus.PROCESSING)")
+    long countUndelivered();
+
+    @Modifying
+    @Query("DELETE FROM OutboxMessage o WHERE o.status = pt.nelsonalmeida.notification.model.OutboxStatus.SENT AND o.processedAt < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+}
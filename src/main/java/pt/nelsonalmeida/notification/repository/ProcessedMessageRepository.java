@@ -0,0 +1,27 @@
+package pt.nelsonalmeida.notification.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import pt.nelsonalmeida.notification.model.ProcessedMessage;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface ProcessedMessageRepository extends JpaRepository<ProcessedMessage, UUID>, ProcessedMessageRepositoryCustom {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO processed_message (message_id, topic, processed_at)
+            VALUES (:messageId, :topic, now())
+            ON CONFLICT (message_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("messageId") UUID messageId, @Param("topic") String topic);
+
+    @Modifying
+    @Query("DELETE FROM ProcessedMessage p WHERE p.processedAt < :before")
+    int deleteProcessedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,16 @@
+package pt.nelsonalmeida.notification.repository;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+public interface ProcessedMessageRepositoryCustom {
+
+    /**
+     * Records the given message ids as processed in one statement.
+     *
+     * @param topicsById The topic each message id was received on
+     * @return The ids that were not recorded before, i.e. the ones this caller now owns
+     */
+    Set<UUID> insertAbsent(Map<UUID, String> topicsById);
+}
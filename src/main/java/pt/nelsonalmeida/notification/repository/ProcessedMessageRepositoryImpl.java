@@ -0,0 +1,36 @@
+package pt.nelsonalmeida.notification.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+class ProcessedMessageRepositoryImpl implements ProcessedMessageRepositoryCustom {
+
+    private static final String INSERT_ABSENT = """
+            INSERT INTO processed_message (message_id, topic, processed_at)
+            SELECT id, topic, now() FROM unnest(?::uuid[], ?::text[]) AS claimed(id, topic)
+            ON CONFLICT (message_id) DO NOTHING
+            RETURNING message_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Set<UUID> insertAbsent(Map<UUID, String> topicsById) {
+        Set<UUID> inserted = new HashSet<>(topicsById.size() * 2);
+        jdbcTemplate.query(INSERT_ABSENT,
+                ps -> {
+                    ps.setArray(1, ps.getConnection().createArrayOf("uuid", topicsById.keySet().toArray()));
+                    ps.setArray(2, ps.getConnection().createArrayOf("text", topicsById.values().toArray()));
+                },
+                rs -> {
+                    inserted.add(rs.getObject(1, UUID.class));
+                });
+        return inserted;
+    }
+}
@@ -0,0 +1,11 @@
+package pt.nelsonalmeida.notification.service;
+
+import java.util.UUID;
+
+/**
+ * Propagates cache invalidations to the other instances of the service.
+ */
+public interface CacheInvalidationBus {
+
+    void publish(UUID notificationId);
+}
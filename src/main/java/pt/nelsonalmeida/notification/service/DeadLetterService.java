@@ -0,0 +1,425 @@
+package pt.nelsonalmeida.notification.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.criteria.Predicate;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.retrytopic.RetryTopicHeaders;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import pt.nelsonalmeida.notification.config.DeadLetterProperties;
+import pt.nelsonalmeida.notification.config.KafkaConsumerConfig;
+import pt.nelsonalmeida.notification.dto.DeadLetterFilter;
+import pt.nelsonalmeida.notification.dto.DeadLetterResponse;
+import pt.nelsonalmeida.notification.dto.ReplayJobResponse;
+import pt.nelsonalmeida.notification.dto.ReservationEventType;
+import pt.nelsonalmeida.notification.events.ReservationTopics;
+import pt.nelsonalmeida.notification.model.DeadLetter;
+import pt.nelsonalmeida.notification.model.DeadLetterReplay;
+import pt.nelsonalmeida.notification.model.DeadLetterStatus;
+import pt.nelsonalmeida.notification.model.ReplayState;
+import pt.nelsonalmeida.notification.repository.DeadLetterReplayRepository;
+import pt.nelsonalmeida.notification.repository.DeadLetterRepository;
+import pt.nelsonalmeida.notification.util.TokenBucket;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps dead-lettered reservation events in the {@code dead_letter} table and replays them.
+ * A replay republishes the selected records to their original topic, so they go through the normal
+ * pipeline (deduplication included). Partitions are replayed in parallel, each in its original order,
+ * while a shared token bucket caps the overall rate.
+ * <p>
+ * Each replay is a {@code dead_letter_replay} row that owns the records it claimed. The instance running it
+ * records progress there, which doubles as a heartbeat; {@link #releaseAbandonedReplays()} gives the records of
+ * a replay whose heartbeat stopped back to NEW, so a crash or redeploy never strands them.
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties(DeadLetterProperties.class)
+public class DeadLetterService {
+
+    private static final int STATUS_FLUSH_SIZE = 100;
+
+    private final DeadLetterRepository deadLetterRepository;
+    private final DeadLetterReplayRepository replayRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ReservationTopics topics;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final DeadLetterProperties properties;
+
+    public DeadLetterService(DeadLetterRepository deadLetterRepository,
+                             DeadLetterReplayRepository replayRepository,
+                             KafkaTemplate<String, String> kafkaTemplate,
+                             ReservationTopics topics,
+                             ObjectMapper objectMapper,
+                             TransactionTemplate transactionTemplate,
+                             DeadLetterProperties properties) {
+        this.deadLetterRepository = deadLetterRepository;
+        this.replayRepository = replayRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.topics = topics;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+    }
+
+    @Transactional
+    public void record(ConsumerRecord<String, String> record) {
+        if (deadLetterRepository.existsByDltTopicAndDltPartitionAndDltOffset(record.topic(), record.partition(), record.offset())) {
+            return;
+        }
+        ReservationEventType type = topics.typeOf(record.topic());
+        Long originalTimestamp = longHeader(record, KafkaHeaders.DLT_ORIGINAL_TIMESTAMP);
+
+        deadLetterRepository.save(DeadLetter.builder()
+                .topic(type != null ? topics.topicOf(type) : record.topic().replaceFirst(KafkaConsumerConfig.DLT_SUFFIX + "$", ""))
+                .dltTopic(record.topic())
+                .dltPartition(record.partition())
+                .dltOffset(record.offset())
+                .originalPartition(intHeader(record, KafkaHeaders.DLT_ORIGINAL_PARTITION))
+                .originalOffset(longHeader(record, KafkaHeaders.DLT_ORIGINAL_OFFSET))
+                .messageKey(record.key())
+                .messageId(messageIdOf(record.value()))
+                .payload(record.value())
+                .exceptionClass(stringHeader(record, KafkaHeaders.DLT_EXCEPTION_FQCN))
+                .exceptionMessage(stringHeader(record, KafkaHeaders.DLT_EXCEPTION_MESSAGE))
+                .attempts(attemptsOf(record))
+                .failedAt(toLocal(originalTimestamp != null ? originalTimestamp : record.timestamp()))
+                .status(DeadLetterStatus.NEW)
+                .build());
+        log.info("Stored dead letter from {}-{}@{}", record.topic(), record.partition(), record.offset());
+    }
+
+    @Transactional(readOnly = true)
+    public List<DeadLetterResponse> search(DeadLetterFilter filter, Integer limit) {
+        int pageSize = limit == null ? properties.getDefaultLimit() : limit;
+        if (pageSize < 1 || pageSize > properties.getMaxLimit()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + properties.getMaxLimit());
+        }
+        return deadLetterRepository.findAll(toSpecification(filter),
+                        PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "failedAt")))
+                .map(DeadLetterService::toResponse)
+                .getContent();
+    }
+
+    @Transactional(readOnly = true)
+    public DeadLetterResponse getDeadLetter(UUID id) {
+        return deadLetterRepository.findById(id)
+                .map(DeadLetterService::toResponse)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Dead letter not found"));
+    }
+
+    /**
+     * Starts replaying the dead letters matching {@code filter} (NEW ones unless a status is given).
+     * Selected records are marked REPLAYING right away, so overlapping requests never replay them twice.
+     */
+    public ReplayJobResponse replay(DeadLetterFilter filter) {
+        if (filter.getStatus() == null) {
+            filter.setStatus(DeadLetterStatus.NEW);
+        } else if (filter.getStatus() == DeadLetterStatus.REPLAYING) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Dead letters being replayed cannot be selected");
+        }
+
+        UUID replayId = UUID.randomUUID();
+        List<DeadLetter> selected = transactionTemplate.execute(status -> {
+            List<DeadLetter> letters = deadLetterRepository.findAll(toSpecification(filter),
+                    PageRequest.of(0, properties.getMaxReplay(), Sort.by("failedAt"))).getContent();
+            LocalDateTime now = LocalDateTime.now();
+            replayRepository.save(DeadLetterReplay.builder()
+                    .id(replayId)
+                    .state(letters.isEmpty() ? ReplayState.COMPLETED : ReplayState.RUNNING)
+                    .total(letters.size())
+                    .startedAt(now)
+                    .heartbeatAt(now)
+                    .finishedAt(letters.isEmpty() ? now : null)
+                    .build());
+            if (!letters.isEmpty()) {
+                deadLetterRepository.claim(letters.stream().map(DeadLetter::getId).toList(), replayId);
+            }
+            return letters;
+        });
+
+        if (!selected.isEmpty()) {
+            ReplayJob job = new ReplayJob(replayId, properties.getReplayStaleAfter().toNanos() / 5);
+            Thread.ofVirtual().name("dlt-replay-" + replayId).start(() -> runReplay(job, selected));
+        }
+        log.info("Started replay {} of {} dead letters", replayId, selected.size());
+        return getReplay(replayId);
+    }
+
+    @Transactional(readOnly = true)
+    public ReplayJobResponse getReplay(UUID jobId) {
+        return replayRepository.findById(jobId)
+                .map(DeadLetterService::toResponse)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Replay not found"));
+    }
+
+    /**
+     * Gives the records of replays whose heartbeat stopped (their instance died, or hung past
+     * {@code replay-stale-after}) back to NEW and marks those replays ABANDONED. An abandoned replay that is in
+     * fact still running stops at its next heartbeat.
+     */
+    @Scheduled(fixedDelayString = "${notification.dead-letter.replay-sweep-interval:1m}")
+    public void releaseAbandonedReplays() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime staleBefore = now.minus(properties.getReplayStaleAfter());
+        transactionTemplate.executeWithoutResult(tx -> {
+            List<UUID> abandoned = replayRepository.findStale(staleBefore).stream()
+                    .filter(id -> replayRepository.abandon(id, staleBefore, now) == 1)
+                    .toList();
+            if (!abandoned.isEmpty()) {
+                int released = deadLetterRepository.release(abandoned);
+                log.warn("Released {} dead letters of abandoned replays {}", released, abandoned);
+            }
+            replayRepository.deleteFinishedBefore(now.minus(properties.getReplayRetention()));
+        });
+    }
+
+    private void runReplay(ReplayJob job, List<DeadLetter> letters) {
+        Map<Integer, List<DeadLetter>> byPartition = new LinkedHashMap<>();
+        for (DeadLetter letter : letters) {
+            byPartition.computeIfAbsent(letter.getOriginalPartition(), p -> new ArrayList<>()).add(letter);
+        }
+        Queue<List<DeadLetter>> partitions = new ConcurrentLinkedQueue<>(byPartition.values());
+        TokenBucket rate = new TokenBucket(properties.getReplayRatePerSecond(), Math.max(1, properties.getReplayRatePerSecond()));
+        int workers = Math.min(properties.getReplayConcurrency(), partitions.size());
+
+        try {
+            try (ExecutorService executor = Executors.newFixedThreadPool(workers, Thread.ofPlatform().name("dlt-replay-", 0).factory())) {
+                for (int i = 0; i < workers; i++) {
+                    executor.execute(() -> {
+                        List<DeadLetter> partition;
+                        while (!job.abandoned && (partition = partitions.poll()) != null) {
+                            replayPartition(job, partition, rate);
+                        }
+                    });
+                }
+            }
+            finish(job, job.abandoned ? ReplayState.ABANDONED : ReplayState.COMPLETED);
+        } catch (RuntimeException e) {
+            // Anything worse is left to releaseAbandonedReplays once the heartbeat goes stale
+            log.error("Replay {} failed", job.id, e);
+            finish(job, ReplayState.ABANDONED);
+        }
+    }
+
+    private void replayPartition(ReplayJob job, List<DeadLetter> letters, TokenBucket rate) {
+        List<UUID> replayed = new ArrayList<>(STATUS_FLUSH_SIZE);
+        List<UUID> failed = new ArrayList<>();
+        for (DeadLetter letter : letters) {
+            throttle(rate);
+            try {
+                kafkaTemplate.send(new ProducerRecord<>(letter.getTopic(), letter.getMessageKey(), letter.getPayload()))
+                        .get(30, TimeUnit.SECONDS);
+                replayed.add(letter.getId());
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                log.warn("Replay of dead letter {} failed", letter.getId(), e);
+                failed.add(letter.getId());
+            }
+            if ((replayed.size() + failed.size() >= STATUS_FLUSH_SIZE || job.heartbeatDue())
+                    && !recordProgress(job, replayed, failed)) {
+                return;
+            }
+        }
+        recordProgress(job, replayed, failed);
+    }
+
+    /**
+     * Marks replayed records REPLAYED and failed ones NEW (selectable again), adding them to the replay's
+     * counts and moving its heartbeat.
+     *
+     * @return false if the replay was abandoned meanwhile; its records are no longer its own then
+     */
+    private boolean recordProgress(ReplayJob job, List<UUID> replayed, List<UUID> failed) {
+        job.beat();
+        boolean running = Boolean.TRUE.equals(transactionTemplate.execute(tx -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (replayRepository.recordProgress(job.id, replayed.size(), failed.size(), now) == 0) {
+                return false;
+            }
+            if (!replayed.isEmpty()) {
+                deadLetterRepository.updateStatus(replayed, job.id, DeadLetterStatus.REPLAYED, now);
+            }
+            if (!failed.isEmpty()) {
+                deadLetterRepository.updateStatus(failed, job.id, DeadLetterStatus.NEW, null);
+            }
+            return true;
+        }));
+        replayed.clear();
+        failed.clear();
+        if (!running && !job.abandoned) {
+            job.abandoned = true;
+            log.warn("Replay {} was abandoned while running; stopping it", job.id);
+        }
+        return running;
+    }
+
+    /** Ends the replay, giving back whatever it still holds (records of partitions it never reached). */
+    private void finish(ReplayJob job, ReplayState state) {
+        DeadLetterReplay finished = transactionTemplate.execute(tx -> {
+            if (replayRepository.finish(job.id, state, LocalDateTime.now()) == 0) {
+                return null;
+            }
+            deadLetterRepository.release(List.of(job.id));
+            return replayRepository.findById(job.id).orElse(null);
+        });
+        if (finished != null) {
+            log.info("Replay {} {}: {} replayed, {} failed", job.id, state.name().toLowerCase(),
+                    finished.getReplayed(), finished.getFailed());
+        }
+    }
+
+    private static void throttle(TokenBucket rate) {
+        long wait;
+        while ((wait = rate.tryAcquire()) > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static Specification<DeadLetter> toSpecification(DeadLetterFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getTopic() != null) {
+                predicates.add(cb.equal(root.get("topic"), filter.getTopic()));
+            }
+            if (filter.getStatus() != null) {
+                predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+            }
+            if (filter.getMessageId() != null) {
+                predicates.add(cb.equal(root.get("messageId"), filter.getMessageId()));
+            }
+            if (filter.getExceptionClass() != null) {
+                predicates.add(cb.equal(root.get("exceptionClass"), filter.getExceptionClass()));
+            }
+            if (filter.getFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("failedAt"), filter.getFrom()));
+            }
+            if (filter.getTo() != null) {
+                predicates.add(cb.lessThan(root.get("failedAt"), filter.getTo()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    private UUID messageIdOf(String payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            JsonNode messageId = objectMapper.readTree(payload).get("messageId");
+            return messageId != null && messageId.isTextual() ? UUID.fromString(messageId.asText()) : null;
+        } catch (Exception e) {
+            // Unparseable payloads are exactly what ends up here; they are stored without a messageId
+            return null;
+        }
+    }
+
+    private static Integer attemptsOf(ConsumerRecord<String, String> record) {
+        String attempts = stringHeader(record, KafkaConsumerConfig.ATTEMPTS_HEADER);
+        if (attempts != null) {
+            return Integer.valueOf(attempts);
+        }
+        return intHeader(record, RetryTopicHeaders.DEFAULT_HEADER_ATTEMPTS);
+    }
+
+    private static String stringHeader(ConsumerRecord<?, ?> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+
+    private static Integer intHeader(ConsumerRecord<?, ?> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header == null || header.value().length != Integer.BYTES ? null : ByteBuffer.wrap(header.value()).getInt();
+    }
+
+    private static Long longHeader(ConsumerRecord<?, ?> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header == null || header.value().length != Long.BYTES ? null : ByteBuffer.wrap(header.value()).getLong();
+    }
+
+    private static LocalDateTime toLocal(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static DeadLetterResponse toResponse(DeadLetter letter) {
+        return DeadLetterResponse.builder()
+                .id(letter.getId())
+                .topic(letter.getTopic())
+                .partition(letter.getOriginalPartition())
+                .offset(letter.getOriginalOffset())
+                .messageId(letter.getMessageId())
+                .payload(letter.getPayload())
+                .exceptionClass(letter.getExceptionClass())
+                .exceptionMessage(letter.getExceptionMessage())
+                .attempts(letter.getAttempts())
+                .failedAt(letter.getFailedAt())
+                .status(letter.getStatus().name())
+                .replayedAt(letter.getReplayedAt())
+                .build();
+    }
+
+    private static ReplayJobResponse toResponse(DeadLetterReplay replay) {
+        return new ReplayJobResponse(replay.getId(), replay.getState().name(), replay.getTotal(),
+                replay.getReplayed(), replay.getFailed(), replay.getStartedAt(), replay.getFinishedAt());
+    }
+
+    /** What the running instance keeps of a replay; its progress lives in {@code dead_letter_replay}. */
+    private static final class ReplayJob {
+        private final UUID id;
+        private final long heartbeatNanos;
+        private final AtomicLong lastBeat = new AtomicLong(System.nanoTime());
+        private volatile boolean abandoned;
+
+        private ReplayJob(UUID id, long heartbeatNanos) {
+            this.id = id;
+            this.heartbeatNanos = heartbeatNanos;
+        }
+
+        private boolean heartbeatDue() {
+            return System.nanoTime() - lastBeat.get() >= heartbeatNanos;
+        }
+
+        private void beat() {
+            lastBeat.set(System.nanoTime());
+        }
+    }
+}
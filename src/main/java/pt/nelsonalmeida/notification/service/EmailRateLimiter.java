@@ -0,0 +1,99 @@
+package pt.nelsonalmeida.notification.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import pt.nelsonalmeida.notification.config.OutboxProperties;
+import pt.nelsonalmeida.notification.util.TokenBucket;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per recipient domain and global send rates, enforced with token buckets.
+ * Domains listed under {@code notification.outbox.rate-limit.domains} get their own limits and
+ * per-domain metrics; every other domain gets its own bucket with the default limits, reported under
+ * {@code domain=other} to keep metric cardinality bounded.
+ */
+@Component
+public class EmailRateLimiter {
+
+    private static final String OTHER = "other";
+
+    private final OutboxProperties.RateLimit properties;
+    private final TokenBucket global;
+    private final Map<String, TokenBucket> configuredBuckets = new HashMap<>();
+    private final LoadingCache<String, TokenBucket> otherBuckets;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> deferred = new ConcurrentHashMap<>();
+
+    public EmailRateLimiter(OutboxProperties outboxProperties, MeterRegistry meterRegistry) {
+        this.properties = outboxProperties.getRateLimit();
+        this.meterRegistry = meterRegistry;
+        this.global = new TokenBucket(properties.getGlobalPerSecond(), properties.getGlobalBurst());
+        // Unlisted domains come and go; idle buckets are dropped (a new one starts full, which is what idle means)
+        this.otherBuckets = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build(domain -> new TokenBucket(properties.getPerDomainPerSecond(), properties.getPerDomainBurst()));
+
+        Gauge.builder("notification.ratelimit.tokens", global, TokenBucket::available)
+                .description("Send tokens currently available")
+                .tag("domain", "global")
+                .register(meterRegistry);
+        properties.getDomains().forEach((domain, limit) -> {
+            TokenBucket bucket = new TokenBucket(limit.getPerSecond(), limit.getBurst());
+            configuredBuckets.put(domain, bucket);
+            Gauge.builder("notification.ratelimit.tokens", bucket, TokenBucket::available)
+                    .description("Send tokens currently available")
+                    .tag("domain", domain)
+                    .register(meterRegistry);
+        });
+    }
+
+    /**
+     * Takes a send slot for the recipient's domain and the global cap.
+     *
+     * @return {@link Duration#ZERO} if the message may be sent now, otherwise how long to wait
+     */
+    public Duration tryAcquire(String recipient) {
+        if (!properties.isEnabled()) {
+            return Duration.ZERO;
+        }
+        String domain = domainOf(recipient);
+        TokenBucket bucket = configuredBuckets.get(domain);
+        if (bucket == null) {
+            bucket = otherBuckets.get(domain);
+        }
+        long wait = bucket.tryAcquire();
+        if (wait == 0) {
+            wait = global.tryAcquire();
+            if (wait != 0) {
+                bucket.release();
+            }
+        }
+        if (wait == 0) {
+            return Duration.ZERO;
+        }
+        deferredCounter(domain).increment();
+        return Duration.ofNanos(wait);
+    }
+
+    private Counter deferredCounter(String domain) {
+        String tag = configuredBuckets.containsKey(domain) ? domain : OTHER;
+        return deferred.computeIfAbsent(tag, t -> Counter.builder("notification.ratelimit.deferred")
+                .description("Sends postponed because a rate limit was exhausted")
+                .tag("domain", t)
+                .register(meterRegistry));
+    }
+
+    static String domainOf(String recipient) {
+        int at = recipient == null ? -1 : recipient.lastIndexOf('@');
+        return at < 0 ? "" : recipient.substring(at + 1).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,18 @@
+package pt.nelsonalmeida.notification.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Single-node stand-in: the local cache is already invalidated by the caller, so there is nobody else to tell.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.cache.invalidation.mode", havingValue = "local", matchIfMissing = true)
+public class LocalCacheInvalidationBus implements CacheInvalidationBus {
+
+    @Override
+    public void publish(UUID notificationId) {
+    }
+}
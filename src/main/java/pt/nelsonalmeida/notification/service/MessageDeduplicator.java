@@ -0,0 +1,131 @@
+package pt.nelsonalmeida.notification.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pt.nelsonalmeida.notification.config.DeduplicationProperties;
+import pt.nelsonalmeida.notification.repository.ProcessedMessageRepository;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Drops redelivered Kafka messages by {@code messageId}.
+ * A bounded in-memory cache answers the common case without touching the database; the
+ * {@code processed_message} table is the source of truth, shared by all instances and kept across
+ * restarts. Claims must run in the transaction that persists the message's effects, so a rollback
+ * also releases the claim.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(DeduplicationProperties.class)
+public class MessageDeduplicator {
+
+    private final ProcessedMessageRepository processedMessageRepository;
+    private final DeduplicationProperties properties;
+    private final Cache<UUID, Boolean> recentIds;
+    private final Counter cacheDuplicates;
+    private final Counter storeDuplicates;
+
+    public MessageDeduplicator(ProcessedMessageRepository processedMessageRepository,
+                               DeduplicationProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.processedMessageRepository = processedMessageRepository;
+        this.properties = properties;
+        this.recentIds = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheSize())
+                .expireAfterWrite(properties.getCacheTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, recentIds, "notification.dedup");
+        this.cacheDuplicates = Counter.builder("notification.dedup.duplicates")
+                .tag("source", "cache")
+                .register(meterRegistry);
+        this.storeDuplicates = Counter.builder("notification.dedup.duplicates")
+                .tag("source", "store")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return true if the message is known to be processed already, without any database access
+     */
+    public boolean isRecentDuplicate(UUID messageId) {
+        if (messageId == null || recentIds.getIfPresent(messageId) == null) {
+            return false;
+        }
+        cacheDuplicates.increment();
+        return true;
+    }
+
+    /**
+     * Records the message as processed.
+     *
+     * @return false if another delivery of the same message was already processed
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean claim(UUID messageId, String topic) {
+        if (messageId == null) {
+            return true;
+        }
+        if (processedMessageRepository.insertIfAbsent(messageId, topic) == 0) {
+            storeDuplicates.increment();
+            recentIds.put(messageId, Boolean.TRUE);
+            return false;
+        }
+        rememberAfterCommit(Set.of(messageId));
+        return true;
+    }
+
+    /**
+     * Bulk variant of {@link #claim(UUID, String)}.
+     *
+     * @param topicsById The topic each message id was received on
+     * @return The subset of ids claimed by this call
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Set<UUID> claimAll(Map<UUID, String> topicsById) {
+        if (topicsById.isEmpty()) {
+            return Set.of();
+        }
+        Set<UUID> claimed = processedMessageRepository.insertAbsent(topicsById);
+        if (claimed.size() < topicsById.size()) {
+            Set<UUID> duplicates = new HashSet<>(topicsById.keySet());
+            duplicates.removeAll(claimed);
+            duplicates.forEach(id -> recentIds.put(id, Boolean.TRUE));
+            storeDuplicates.increment(duplicates.size());
+        }
+        rememberAfterCommit(claimed);
+        return claimed;
+    }
+
+    @Scheduled(cron = "${notification.dedup.purge-cron:0 30 * * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = processedMessageRepository.deleteProcessedBefore(LocalDateTime.now().minus(properties.getRetention()));
+        if (purged > 0) {
+            log.info("Purged {} processed message ids", purged);
+        }
+    }
+
+    private void rememberAfterCommit(Set<UUID> messageIds) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                messageIds.forEach(id -> recentIds.put(id, Boolean.TRUE));
+            }
+        });
+    }
+}
@@ -0,0 +1,209 @@
+package pt.nelsonalmeida.notification.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import pt.nelsonalmeida.notification.config.TemplateProperties;
+import pt.nelsonalmeida.notification.dto.NotificationRequest;
+import pt.nelsonalmeida.notification.util.MessageTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Renders outbox message bodies from per-event-type templates.
+ * <p>
+ * Templates are named {@code <EVENT_TYPE>[_<language>[_<COUNTRY>]].txt}; a request is rendered with the most
+ * specific variant for its event type and locale, falling back to {@code default.txt}. The bundled templates
+ * under {@code templates/email} can be overridden from {@code notification.templates.directory}, which is
+ * polled for changes; a reload that fails to compile keeps the previous templates.
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties(TemplateProperties.class)
+public class MessageTemplateService {
+
+    static final String DEFAULT_TEMPLATE = "default";
+    private static final String BUNDLED_TEMPLATES = "classpath*:templates/email/*.txt";
+    private static final String EXTENSION = ".txt";
+
+    private final TemplateProperties properties;
+    private final Map<String, String> bundled;
+    private volatile Catalog catalog;
+    private volatile String directoryFingerprint;
+
+    public MessageTemplateService(TemplateProperties properties) {
+        this.properties = properties;
+        this.bundled = loadBundled();
+        this.directoryFingerprint = fingerprint();
+        this.catalog = new Catalog(withOverrides(), properties.getDefaultLocale());
+    }
+
+    public String render(NotificationRequest request) {
+        return catalog.resolve(request.getEventType(), request.getLocale()).render(request);
+    }
+
+    @Scheduled(fixedDelayString = "${notification.templates.reload-interval:5s}")
+    public void reloadIfChanged() {
+        String fingerprint = fingerprint();
+        if (fingerprint.equals(directoryFingerprint)) {
+            return;
+        }
+        directoryFingerprint = fingerprint;
+        try {
+            Catalog reloaded = new Catalog(withOverrides(), properties.getDefaultLocale());
+            catalog = reloaded;
+            log.info("Reloaded message templates from {}", properties.getDirectory());
+        } catch (IllegalArgumentException | UncheckedIOException e) {
+            log.error("Keeping previous message templates, reload from {} failed: {}",
+                    properties.getDirectory(), e.getMessage());
+        }
+    }
+
+    private Map<String, String> withOverrides() {
+        Map<String, String> sources = new HashMap<>(bundled);
+        Path directory = properties.getDirectory();
+        if (directory == null || !Files.isDirectory(directory)) {
+            return sources;
+        }
+        for (Path file : templateFiles(directory)) {
+            try {
+                sources.put(templateName(file.getFileName().toString()), normalize(Files.readString(file)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read template " + file, e);
+            }
+        }
+        return sources;
+    }
+
+    private static Map<String, String> loadBundled() {
+        Map<String, String> sources = new HashMap<>();
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(BUNDLED_TEMPLATES)) {
+                try (InputStream in = resource.getInputStream()) {
+                    sources.put(templateName(resource.getFilename()),
+                            normalize(new String(in.readAllBytes(), StandardCharsets.UTF_8)));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load bundled message templates", e);
+        }
+        if (!sources.containsKey(DEFAULT_TEMPLATE)) {
+            throw new IllegalStateException("Bundled message templates lack " + DEFAULT_TEMPLATE + EXTENSION);
+        }
+        return sources;
+    }
+
+    /**
+     * Names, sizes and modification times of the override templates; changes when any of them does.
+     */
+    private String fingerprint() {
+        Path directory = properties.getDirectory();
+        if (directory == null || !Files.isDirectory(directory)) {
+            return "";
+        }
+        return templateFiles(directory).stream()
+                .map(file -> {
+                    try {
+                        return file.getFileName() + ":" + Files.size(file) + ":" + Files.getLastModifiedTime(file).toMillis();
+                    } catch (IOException e) {
+                        return file.getFileName() + ":?";
+                    }
+                })
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+
+    private static List<Path> templateFiles(Path directory) {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(EXTENSION) && Files.isRegularFile(file))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list templates in " + directory, e);
+        }
+    }
+
+    private static String templateName(String fileName) {
+        return fileName.substring(0, fileName.length() - EXTENSION.length());
+    }
+
+    /** Drops the final line break editors add, which would otherwise end up in every message. */
+    private static String normalize(String source) {
+        return source.endsWith("\r\n") ? source.substring(0, source.length() - 2)
+                : source.endsWith("\n") ? source.substring(0, source.length() - 1)
+                : source;
+    }
+
+    /**
+     * One generation of template sources. Every source is compiled up front so a broken one is rejected
+     * before it replaces the previous generation; compiled templates per event type and locale are then
+     * cached until the next reload.
+     */
+    private static final class Catalog {
+
+        private final Map<String, String> sources;
+        private final Locale defaultLocale;
+        private final Cache<ResolvedKey, MessageTemplate> resolved = Caffeine.newBuilder()
+                .maximumSize(1_000)
+                .build();
+
+        Catalog(Map<String, String> sources, Locale defaultLocale) {
+            sources.forEach((name, source) -> {
+                try {
+                    MessageTemplate.compile(source, defaultLocale);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Template " + name + ": " + e.getMessage(), e);
+                }
+            });
+            this.sources = Map.copyOf(sources);
+            this.defaultLocale = defaultLocale;
+        }
+
+        MessageTemplate resolve(String eventType, String languageTag) {
+            return resolved.get(new ResolvedKey(eventType, languageTag), key -> {
+                Locale locale = key.languageTag() == null || key.languageTag().isBlank()
+                        ? defaultLocale
+                        : Locale.forLanguageTag(key.languageTag());
+                String source = lookup(key.eventType(), locale);
+                if (source == null) {
+                    source = lookup(DEFAULT_TEMPLATE, locale);
+                }
+                return MessageTemplate.compile(source, locale);
+            });
+        }
+
+        private String lookup(String name, Locale locale) {
+            if (!locale.getCountry().isEmpty()) {
+                String source = sources.get(name + "_" + locale.getLanguage() + "_" + locale.getCountry());
+                if (source != null) {
+                    return source;
+                }
+            }
+            if (!locale.getLanguage().isEmpty()) {
+                String source = sources.get(name + "_" + locale.getLanguage());
+                if (source != null) {
+                    return source;
+                }
+            }
+            return sources.get(name);
+        }
+    }
+
+    private record ResolvedKey(String eventType, String languageTag) {
+    }
+}
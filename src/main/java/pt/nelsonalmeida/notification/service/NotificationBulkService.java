@@ -0,0 +1,247 @@
+package pt.nelsonalmeida.notification.service;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import pt.nelsonalmeida.notification.config.BulkProperties;
+import pt.nelsonalmeida.notification.dto.BulkResult;
+import pt.nelsonalmeida.notification.dto.BulkResult.ItemError;
+import pt.nelsonalmeida.notification.dto.BulkUpdateItem;
+import pt.nelsonalmeida.notification.dto.NotificationRequest;
+import pt.nelsonalmeida.notification.dto.NotificationSnapshot;
+import pt.nelsonalmeida.notification.events.NotificationChangedEvent;
+import pt.nelsonalmeida.notification.mapper.NotificationMapper;
+import pt.nelsonalmeida.notification.model.Notification;
+import pt.nelsonalmeida.notification.repository.NotificationQueryRepository;
+import pt.nelsonalmeida.notification.repository.NotificationRepository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk create, update and delete from a JSON array read incrementally off the request body.
+ * Each request runs in one transaction, written in chunks of {@code notification.bulk.chunk-size} that are
+ * flushed as JDBC batches and then detached, so memory stays flat however long the array is.
+ * Items that fail validation or refer to an unknown id are skipped and reported; a database error
+ * rolls the whole request back.
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties(BulkProperties.class)
+public class NotificationBulkService {
+
+    private final NotificationService notificationService;
+    private final NotificationRepository notificationRepository;
+    private final NotificationQueryRepository notificationQueryRepository;
+    private final NotificationMapper notificationMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final BulkProperties properties;
+    private final ObjectReader createReader;
+    private final ObjectReader updateReader;
+    private final ObjectReader deleteReader;
+
+    public NotificationBulkService(NotificationService notificationService,
+                                   NotificationRepository notificationRepository,
+                                   NotificationQueryRepository notificationQueryRepository,
+                                   NotificationMapper notificationMapper,
+                                   EntityManager entityManager,
+                                   TransactionTemplate transactionTemplate,
+                                   ApplicationEventPublisher eventPublisher,
+                                   Validator validator,
+                                   ObjectMapper objectMapper,
+                                   BulkProperties properties) {
+        this.notificationService = notificationService;
+        this.notificationRepository = notificationRepository;
+        this.notificationQueryRepository = notificationQueryRepository;
+        this.notificationMapper = notificationMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.properties = properties;
+        this.createReader = objectMapper.readerFor(NotificationRequest.class);
+        this.updateReader = objectMapper.readerFor(BulkUpdateItem.class);
+        this.deleteReader = objectMapper.readerFor(UUID.class);
+    }
+
+    public BulkResult createAll(InputStream body) {
+        return process(body, createReader, (NotificationRequest request) -> null,
+                (List<Indexed<NotificationRequest>> chunk, Errors errors) -> {
+                    notificationService.createNotifications(chunk.stream().map(Indexed::value).toList());
+                    return chunk.size();
+                });
+    }
+
+    public BulkResult updateAll(InputStream body) {
+        return process(body, updateReader, BulkUpdateItem::getId,
+                (List<Indexed<BulkUpdateItem>> chunk, Errors errors) -> {
+                    Map<UUID, Notification> existing = notificationRepository
+                            .findAllById(chunk.stream().map(item -> item.value().getId()).toList()).stream()
+                            .collect(Collectors.toMap(Notification::getId, Function.identity()));
+                    int updated = 0;
+                    for (Indexed<BulkUpdateItem> item : chunk) {
+                        Notification notification = existing.get(item.value().getId());
+                        if (notification == null) {
+                            errors.add(item.index(), item.value().getId(), "Notification not found");
+                            continue;
+                        }
+                        NotificationSnapshot before = notificationMapper.toSnapshot(notification);
+                        NotificationRequest request = item.value().getNotification();
+                        notification.setReservationId(request.getReservationId());
+                        notification.setEventType(request.getEventType());
+                        notification.setRecipient(request.getRecipient());
+                        if (request.getStatus() != null) {
+                            notification.setStatus(request.getStatus());
+                        }
+                        eventPublisher.publishEvent(NotificationChangedEvent.updated(before, notificationMapper.toSnapshot(notification)));
+                        updated++;
+                    }
+                    return updated;
+                });
+    }
+
+    public BulkResult deleteAll(InputStream body) {
+        return process(body, deleteReader, (UUID id) -> id,
+                (List<Indexed<UUID>> chunk, Errors errors) -> {
+                    Map<UUID, NotificationSnapshot> deleted = notificationQueryRepository
+                            .deleteAllById(chunk.stream().map(Indexed::value).toList()).stream()
+                            .collect(Collectors.toMap(NotificationSnapshot::id, Function.identity()));
+                    int count = 0;
+                    for (Indexed<UUID> item : chunk) {
+                        NotificationSnapshot before = deleted.remove(item.value());
+                        if (before != null) {
+                            eventPublisher.publishEvent(NotificationChangedEvent.deleted(before));
+                            count++;
+                        } else {
+                            errors.add(item.index(), item.value(), "Notification not found");
+                        }
+                    }
+                    return count;
+                });
+    }
+
+    private <T> BulkResult process(InputStream body, ObjectReader reader, Function<T, UUID> idOf, ChunkWriter<T> writer) {
+        Errors errors = new Errors(properties.getMaxReportedErrors());
+        int[] counts = {0, 0};
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (MappingIterator<T> items = reader.readValues(body)) {
+                    List<Indexed<T>> chunk = new ArrayList<>(properties.getChunkSize());
+                    while (items.hasNextValue()) {
+                        int index = counts[0]++;
+                        if (index >= properties.getMaxItems()) {
+                            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                                    "At most " + properties.getMaxItems() + " items per request");
+                        }
+                        T item;
+                        try {
+                            item = items.nextValue();
+                        } catch (JsonMappingException e) {
+                            // An element that cannot be bound (e.g. a malformed UUID) is skipped; broken JSON is not
+                            errors.add(index, null, e.getOriginalMessage());
+                            continue;
+                        }
+                        String invalid = validate(item);
+                        if (invalid != null) {
+                            errors.add(index, item == null ? null : idOf.apply(item), invalid);
+                            continue;
+                        }
+                        chunk.add(new Indexed<>(index, item));
+                        if (chunk.size() == properties.getChunkSize()) {
+                            counts[1] += writeChunk(chunk, writer, errors);
+                        }
+                    }
+                    counts[1] += writeChunk(chunk, writer, errors);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed JSON array: " + e.getCause().getMessage());
+        }
+
+        log.info("Bulk request processed: {} items, {} applied, {} rejected", counts[0], counts[1], errors.count);
+        return BulkResult.builder()
+                .total(counts[0])
+                .succeeded(counts[1])
+                .failed(errors.count)
+                .errors(errors.reported)
+                .build();
+    }
+
+    private <T> int writeChunk(List<Indexed<T>> chunk, ChunkWriter<T> writer, Errors errors) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        int written = writer.write(chunk, errors);
+        // Send this chunk's batch and drop its entities, keeping the persistence context small
+        entityManager.flush();
+        entityManager.clear();
+        chunk.clear();
+        return written;
+    }
+
+    private String validate(Object item) {
+        if (item == null) {
+            return "Item is null";
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private record Indexed<T>(int index, T value) {
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter<T> {
+        /**
+         * @return Number of items applied
+         */
+        int write(List<Indexed<T>> chunk, Errors errors);
+    }
+
+    private static final class Errors {
+        private final int maxReported;
+        private final List<ItemError> reported = new ArrayList<>();
+        private int count;
+
+        private Errors(int maxReported) {
+            this.maxReported = maxReported;
+        }
+
+        private void add(int index, UUID id, String message) {
+            count++;
+            if (reported.size() < maxReported) {
+                reported.add(new ItemError(index, id, message));
+            }
+        }
+    }
+}
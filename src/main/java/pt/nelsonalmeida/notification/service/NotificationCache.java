@@ -0,0 +1,81 @@
+package pt.nelsonalmeida.notification.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pt.nelsonalmeida.notification.config.CacheProperties;
+import pt.nelsonalmeida.notification.dto.NotificationResponse;
+import pt.nelsonalmeida.notification.events.NotificationChangedEvent;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache for single notification lookups.
+ * Unknown ids are cached as empty for a shorter time than found ones. Entries are dropped
+ * once a change to the notification commits, here and, through the {@link CacheInvalidationBus},
+ * on the other instances.
+ */
+@Component
+public class NotificationCache {
+
+    private static final String CACHE_NAME = "notification.lookup";
+
+    private final Cache<UUID, Optional<NotificationResponse>> entries;
+    private final CacheInvalidationBus invalidationBus;
+
+    public NotificationCache(CacheProperties properties, CacheInvalidationBus invalidationBus, MeterRegistry meterRegistry) {
+        this.invalidationBus = invalidationBus;
+        long ttlNanos = properties.getTtl().toNanos();
+        long negativeTtlNanos = properties.getNegativeTtl().toNanos();
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new Expiry<UUID, Optional<NotificationResponse>>() {
+                    @Override
+                    public long expireAfterCreate(UUID key, Optional<NotificationResponse> value, long currentTime) {
+                        return value.isPresent() ? ttlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(UUID key, Optional<NotificationResponse> value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(UUID key, Optional<NotificationResponse> value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", entries, cache -> cache.stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached lookup for {@code id}, calling {@code loader} on a miss. Concurrent misses
+     * for the same id share a single load.
+     */
+    public Optional<NotificationResponse> get(UUID id, Function<UUID, Optional<NotificationResponse>> loader) {
+        return entries.get(id, loader);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationChanged(NotificationChangedEvent event) {
+        evictLocal(event.notificationId());
+        invalidationBus.publish(event.notificationId());
+    }
+
+    public void evictLocal(UUID id) {
+        entries.invalidate(id);
+    }
+}
@@ -0,0 +1,20 @@
+package pt.nelsonalmeida.notification.service;
+
+/**
+ * Delivers a notification over one medium (email, SMS, webhook...). Implementations may block on
+ * network I/O; they are only called from the outbox dispatcher, never from a Kafka listener or HTTP
+ * thread, and must be safe for concurrent use.
+ * <p>
+ * Channel beans are picked up by {@link NotificationChannels}; each notification names the channel it
+ * is delivered through.
+ */
+public interface NotificationChannel {
+
+    /** Name notifications select this channel by. */
+    String name();
+
+    /**
+     * @throws RuntimeException if the message could not be delivered and should be retried
+     */
+    void send(String recipient, String body);
+}
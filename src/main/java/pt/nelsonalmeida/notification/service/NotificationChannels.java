@@ -0,0 +1,85 @@
+package pt.nelsonalmeida.notification.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import pt.nelsonalmeida.notification.config.ChannelProperties;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The channels notifications can be delivered through: every {@link NotificationChannel} bean, one
+ * {@link WebhookChannel} per {@code notification.channels.webhooks} entry and, when enabled, the
+ * {@code local} sink, which can also capture other channels' deliveries.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(ChannelProperties.class)
+public class NotificationChannels implements DisposableBean {
+
+    private final Map<String, NotificationChannel> channels = new LinkedHashMap<>();
+    private final List<AutoCloseable> owned = new ArrayList<>();
+    private final String defaultChannel;
+
+    public NotificationChannels(List<NotificationChannel> beans, ChannelProperties properties,
+                                ObjectMapper objectMapper) throws IOException {
+        beans.forEach(this::register);
+        properties.getWebhooks().forEach((name, webhook) -> register(owned(new WebhookChannel(name, webhook, objectMapper))));
+
+        ChannelProperties.LocalSink sink = properties.getLocalSink();
+        if (sink.isEnabled()) {
+            LocalSinkChannel local = owned(new LocalSinkChannel(sink.getFile(), sink.getRegionSize().toBytes()));
+            register(local);
+            for (String captured : sink.getCapture()) {
+                channels.put(captured, local);
+            }
+            log.info("Local sink writing to {}, capturing {}", sink.getFile().toAbsolutePath(), sink.getCapture());
+        }
+
+        this.defaultChannel = properties.getDefaultChannel();
+        if (!channels.containsKey(defaultChannel)) {
+            throw new IllegalStateException("Default channel " + defaultChannel + " is not configured");
+        }
+    }
+
+    public Optional<NotificationChannel> get(String name) {
+        return Optional.ofNullable(channels.get(name));
+    }
+
+    public boolean contains(String name) {
+        return channels.containsKey(name);
+    }
+
+    public String defaultChannel() {
+        return defaultChannel;
+    }
+
+    @Override
+    public void destroy() {
+        for (AutoCloseable channel : owned) {
+            try {
+                channel.close();
+            } catch (Exception e) {
+                log.warn("Failed to close channel {}", channel, e);
+            }
+        }
+    }
+
+    private void register(NotificationChannel channel) {
+        if (channels.putIfAbsent(channel.name(), channel) != null) {
+            throw new IllegalStateException("Duplicate notification channel " + channel.name());
+        }
+    }
+
+    private <T extends AutoCloseable> T owned(T channel) {
+        owned.add(channel);
+        return channel;
+    }
+}
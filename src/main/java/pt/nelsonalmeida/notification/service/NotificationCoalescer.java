@@ -0,0 +1,93 @@
+package pt.nelsonalmeida.notification.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import pt.nelsonalmeida.notification.config.CoalescingProperties;
+import pt.nelsonalmeida.notification.repository.CoalescingRepository;
+import pt.nelsonalmeida.notification.repository.CoalescingRepository.BufferedEvent;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Collapses the events of a reservation that arrive within {@code notification.coalesce.window} of its
+ * first one into a single notification carrying the latest state.
+ * Events are buffered in the database in the consumer's transaction, so the Kafka offset can be committed
+ * and a rebalance or restart loses nothing; any instance may flush them once the window elapses.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "notification.coalesce.enabled", havingValue = "true")
+@EnableConfigurationProperties(CoalescingProperties.class)
+public class NotificationCoalescer {
+
+    private final CoalescingRepository coalescingRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final CoalescingProperties properties;
+    private final Counter collapsed;
+
+    public NotificationCoalescer(CoalescingRepository coalescingRepository,
+                                 NotificationService notificationService,
+                                 TransactionTemplate transactionTemplate,
+                                 CoalescingProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.coalescingRepository = coalescingRepository;
+        this.notificationService = notificationService;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.collapsed = Counter.builder("notification.coalesce.collapsed")
+                .description("Reservation events absorbed into another event's notification")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Buffers events instead of creating their notifications. Must run in the transaction that
+     * claims the messages, so a rollback also discards them from the buffer.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void buffer(Collection<BufferedEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        // One statement cannot upsert the same row twice, so merge repeats within the batch first
+        Map<UUID, BufferedEvent> latest = new LinkedHashMap<>();
+        for (BufferedEvent event : events) {
+            latest.merge(event.reservationId(), event, NotificationCoalescer::merge);
+        }
+        coalescingRepository.bufferAll(latest.values(), properties.getWindow());
+    }
+
+    @Scheduled(fixedDelayString = "${notification.coalesce.flush-interval:1s}")
+    public void flushDue() {
+        Integer flushed;
+        do {
+            flushed = transactionTemplate.execute(status -> {
+                List<BufferedEvent> due = coalescingRepository.takeDue(properties.getBatchSize());
+                if (!due.isEmpty()) {
+                    notificationService.createNotifications(due.stream().map(BufferedEvent::request).toList());
+                    int absorbed = due.stream().mapToInt(BufferedEvent::eventCount).sum() - due.size();
+                    collapsed.increment(absorbed);
+                    log.info("Flushed {} coalesced notifications ({} events collapsed)", due.size(), absorbed);
+                }
+                return due.size();
+            });
+        } while (flushed != null && flushed == properties.getBatchSize());
+    }
+
+    private static BufferedEvent merge(BufferedEvent current, BufferedEvent next) {
+        BufferedEvent newer = next.eventAt().isBefore(current.eventAt()) ? current : next;
+        return new BufferedEvent(newer.request(), newer.eventAt(), current.eventCount() + next.eventCount());
+    }
+}
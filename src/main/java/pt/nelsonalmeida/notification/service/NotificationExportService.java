@@ -0,0 +1,60 @@
+package pt.nelsonalmeida.notification.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pt.nelsonalmeida.notification.config.QueryProperties;
+import pt.nelsonalmeida.notification.dto.NotificationResponse;
+import pt.nelsonalmeida.notification.repository.NotificationQueryRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes the whole notification table as newline-delimited JSON with constant memory use.
+ */
+@Service
+public class NotificationExportService {
+
+    private final NotificationQueryRepository queryRepository;
+    private final ObjectWriter ndjsonWriter;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int flushEvery;
+
+    public NotificationExportService(NotificationQueryRepository queryRepository,
+                                     ObjectMapper objectMapper,
+                                     PlatformTransactionManager transactionManager,
+                                     QueryProperties properties) {
+        this.queryRepository = queryRepository;
+        this.ndjsonWriter = objectMapper.writerFor(NotificationResponse.class).withRootValueSeparator("\n");
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.flushEvery = properties.getExportFetchSize();
+    }
+
+    public void exportNdjson(OutputStream out) throws IOException {
+        try (SequenceWriter writer = ndjsonWriter.writeValues(out)) {
+            int[] written = {0};
+            readOnlyTransaction.executeWithoutResult(status -> queryRepository.streamAll(notification -> {
+                try {
+                    writer.write(notification);
+                    if (++written[0] % flushEvery == 0) {
+                        writer.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+            writer.flush();
+            if (written[0] > 0) {
+                out.write('\n');
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
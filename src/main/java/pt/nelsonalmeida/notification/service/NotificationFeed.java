@@ -0,0 +1,290 @@
+package pt.nelsonalmeida.notification.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import pt.nelsonalmeida.notification.config.FeedProperties;
+import pt.nelsonalmeida.notification.dto.NotificationSnapshot;
+import pt.nelsonalmeida.notification.events.NotificationChangedEvent;
+import pt.nelsonalmeida.notification.util.EventRing;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes committed notification changes to Server-Sent Events subscribers of a reservation or recipient.
+ * <p>
+ * Each change gets a sequence number and is kept in a bounded replay ring, so a client reconnecting with
+ * {@code Last-Event-ID} receives what it missed; when that is no longer retained it gets a {@code reset}
+ * event and should reload through the REST API. Changes are appended to a bounded buffer per subscriber and
+ * written by a virtual thread that only exists while the buffer is non-empty, so idle streams hold no thread
+ * and a slow client only ever blocks its own writer. A full buffer disconnects the subscriber or drops its
+ * oldest events, per {@code notification.feed.overflow}.
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties(FeedProperties.class)
+public class NotificationFeed implements DisposableBean {
+
+    private static final String RESET = "reset";
+
+    private final FeedProperties properties;
+    /** Distinguishes this instance's event ids from another instance's or a previous run's. */
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final EventRing<FeedEvent> recent;
+    /**
+     * Orders appends, fan-out and new subscriptions. Locks rather than monitors throughout, so publishers on
+     * virtual threads never pin their carrier while contending.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService writers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("feed-", 0).factory());
+    private final Counter overflows;
+
+    public NotificationFeed(FeedProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.recent = new EventRing<>(properties.getReplaySize());
+        Gauge.builder("notification.feed.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open live feed streams")
+                .register(meterRegistry);
+        this.overflows = Counter.builder("notification.feed.overflows")
+                .description("Subscriber buffers that overflowed")
+                .tag("policy", properties.getOverflow().name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+    }
+
+    public static String reservationKey(UUID reservationId) {
+        return "reservation:" + reservationId;
+    }
+
+    public static String recipientKey(String recipient) {
+        return "recipient:" + recipient.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param lastEventId The {@code Last-Event-ID} sent by a reconnecting client, or null
+     */
+    public SseEmitter subscribe(String key, String lastEventId) {
+        if (subscriberCount.incrementAndGet() > properties.getMaxSubscribers()) {
+            subscriberCount.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many live feed subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(key, emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+
+        lock.lock();
+        try {
+            if (lastEventId != null) {
+                List<FeedEvent> missed = missedSince(lastEventId, key);
+                if (missed == null || missed.size() > properties.getBufferSize()) {
+                    subscriber.offer(new FeedEvent(recent.lastSequence(), RESET, null, Set.of()));
+                } else {
+                    missed.forEach(subscriber::offer);
+                }
+            }
+            subscribers.compute(key, (k, current) -> {
+                Set<Subscriber> set = current != null ? current : ConcurrentHashMap.newKeySet();
+                set.add(subscriber);
+                return set;
+            });
+        } finally {
+            lock.unlock();
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationChanged(NotificationChangedEvent event) {
+        Set<String> keys = new HashSet<>(4);
+        addKeys(keys, event.before());
+        addKeys(keys, event.after());
+        NotificationSnapshot shown = event.after() != null ? event.after() : event.before();
+        String name = event.type().name().toLowerCase(Locale.ROOT);
+
+        lock.lock();
+        try {
+            FeedEvent feedEvent = new FeedEvent(recent.lastSequence() + 1, name, shown, keys);
+            recent.append(feedEvent);
+            for (String key : keys) {
+                Set<Subscriber> set = subscribers.get(key);
+                if (set != null) {
+                    set.forEach(subscriber -> subscriber.offer(feedEvent));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notification.feed.heartbeat-interval:15s}")
+    public void heartbeat() {
+        subscribers.values().forEach(set -> set.forEach(Subscriber::heartbeat));
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+        writers.shutdownNow();
+    }
+
+    private List<FeedEvent> missedSince(String lastEventId, String key) {
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !epoch.equals(lastEventId.substring(0, separator))) {
+            return null;
+        }
+        try {
+            return recent.since(Long.parseLong(lastEventId.substring(separator + 1)), event -> event.keys().contains(key));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static void addKeys(Set<String> keys, NotificationSnapshot snapshot) {
+        if (snapshot != null) {
+            keys.add(reservationKey(snapshot.reservationId()));
+            keys.add(recipientKey(snapshot.recipient()));
+        }
+    }
+
+    private SseEmitter.SseEventBuilder toSse(FeedEvent event) {
+        if (event == FeedEvent.HEARTBEAT) {
+            return SseEmitter.event().comment("heartbeat");
+        }
+        SseEmitter.SseEventBuilder sse = SseEmitter.event()
+                .id(epoch + "-" + event.sequence())
+                .name(event.name());
+        return event.notification() != null
+                ? sse.data(event.notification(), MediaType.APPLICATION_JSON)
+                : sse.data(event.name());
+    }
+
+    /**
+     * @param keys The subscription keys the change is delivered to
+     */
+    private record FeedEvent(long sequence, String name, NotificationSnapshot notification, Set<String> keys) {
+
+        static final FeedEvent HEARTBEAT = new FeedEvent(0, null, null, Set.of());
+    }
+
+    private final class Subscriber {
+
+        private final String key;
+        private final SseEmitter emitter;
+        private final ArrayDeque<FeedEvent> buffer = new ArrayDeque<>();
+        private final ReentrantLock bufferLock = new ReentrantLock();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        /** Whether a writer is running; guarded by {@code bufferLock}. */
+        private boolean writing;
+
+        Subscriber(String key, SseEmitter emitter) {
+            this.key = key;
+            this.emitter = emitter;
+        }
+
+        void offer(FeedEvent event) {
+            bufferLock.lock();
+            try {
+                if (closed.get()) {
+                    return;
+                }
+                if (buffer.size() >= properties.getBufferSize()) {
+                    overflows.increment();
+                    if (properties.getOverflow() == FeedProperties.Overflow.DISCONNECT) {
+                        log.debug("Disconnecting slow live feed subscriber of {}", key);
+                        close();
+                        return;
+                    }
+                    buffer.pollFirst();
+                }
+                buffer.addLast(event);
+                if (writing) {
+                    return;
+                }
+                writing = true;
+            } finally {
+                bufferLock.unlock();
+            }
+            writers.execute(this::write);
+        }
+
+        void heartbeat() {
+            bufferLock.lock();
+            try {
+                if (closed.get() || writing) {
+                    return;
+                }
+                buffer.addLast(FeedEvent.HEARTBEAT);
+                writing = true;
+            } finally {
+                bufferLock.unlock();
+            }
+            writers.execute(this::write);
+        }
+
+        private void write() {
+            while (true) {
+                FeedEvent next;
+                bufferLock.lock();
+                try {
+                    next = buffer.pollFirst();
+                    if (next == null || closed.get()) {
+                        writing = false;
+                        return;
+                    }
+                } finally {
+                    bufferLock.unlock();
+                }
+                try {
+                    emitter.send(toSse(next));
+                } catch (IOException | IllegalStateException e) {
+                    close();
+                    return;
+                }
+            }
+        }
+
+        void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            subscriberCount.decrementAndGet();
+            subscribers.computeIfPresent(key, (k, set) -> {
+                set.remove(this);
+                return set.isEmpty() ? null : set;
+            });
+            // Completing can wait for a send blocked on this client, so never do it on the publishing thread
+            try {
+                writers.execute(emitter::complete);
+            } catch (RejectedExecutionException e) {
+                // Shutting down, destroy() completes every stream
+            }
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package pt.nelsonalmeida.notification.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pt.nelsonalmeida.notification.config.PartitioningProperties;
+import pt.nelsonalmeida.notification.config.PartitioningProperties.Granularity;
+import pt.nelsonalmeida.notification.dto.NotificationResponse;
+import pt.nelsonalmeida.notification.repository.NotificationQueryRepository;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the range partitions of {@code notification} in shape: creates the coming ones ahead of time and
+ * retires (optionally archives, then detaches or drops) those entirely past the retention period.
+ * Runs at startup and on {@code notification.partitioning.cron}; a PostgreSQL advisory lock makes sure only
+ * one instance does the work.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "notification.partitioning.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(PartitioningProperties.class)
+public class NotificationPartitionMaintenance {
+
+    private static final String LOCK_NAME = "notification-partition-maintenance";
+    private static final Pattern RANGE_BOUND = Pattern.compile("FROM \\('([^']+)'\\) TO \\('([^']+)'\\)");
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter MONTHLY_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final DateTimeFormatter DAILY_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationQueryRepository queryRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter ndjsonWriter;
+    private final PartitioningProperties properties;
+
+    public NotificationPartitionMaintenance(JdbcTemplate jdbcTemplate,
+                                            NotificationQueryRepository queryRepository,
+                                            PlatformTransactionManager transactionManager,
+                                            ObjectMapper objectMapper,
+                                            PartitioningProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queryRepository = queryRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.ndjsonWriter = objectMapper.writerFor(NotificationResponse.class).withRootValueSeparator("\n");
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void maintainOnStartup() {
+        try {
+            maintain();
+        } catch (Exception e) {
+            // Partitions are created months ahead, so a failed run here can wait for the scheduled one
+            log.error("Partition maintenance failed at startup", e);
+        }
+    }
+
+    @Scheduled(cron = "${notification.partitioning.cron:0 15 2 * * *}")
+    public void maintain() {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (!tryLock(connection)) {
+                log.debug("Partition maintenance is running on another instance");
+                return null;
+            }
+            try {
+                List<PartitionRange> partitions = listPartitions(connection);
+                LocalDateTime now = LocalDateTime.now();
+                for (PartitionRange missing : missingPartitions(partitions, properties.getGranularity(), now.toLocalDate(), properties.getPremake())) {
+                    createPartition(connection, missing);
+                }
+                if (properties.getRetention() != null) {
+                    for (PartitionRange expired : expiredPartitions(partitions, now.minus(properties.getRetention()))) {
+                        retire(connection, expired);
+                    }
+                }
+            } finally {
+                unlock(connection);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * The periods from the current one to {@code premake} ahead that no existing partition overlaps.
+     */
+    static List<PartitionRange> missingPartitions(List<PartitionRange> existing, Granularity granularity,
+                                                  LocalDate today, int premake) {
+        List<PartitionRange> missing = new ArrayList<>();
+        LocalDate start = granularity == Granularity.MONTHLY ? today.withDayOfMonth(1) : today;
+        for (int i = 0; i <= premake; i++) {
+            LocalDate end = granularity == Granularity.MONTHLY ? start.plusMonths(1) : start.plusDays(1);
+            PartitionRange candidate = new PartitionRange(
+                    "notification_p" + start.format(granularity == Granularity.MONTHLY ? MONTHLY_SUFFIX : DAILY_SUFFIX),
+                    start.atStartOfDay(), end.atStartOfDay());
+            if (existing.stream().noneMatch(candidate::overlaps)) {
+                missing.add(candidate);
+            }
+            start = end;
+        }
+        return missing;
+    }
+
+    /**
+     * Partitions whose whole range lies before {@code cutoff}.
+     */
+    static List<PartitionRange> expiredPartitions(List<PartitionRange> existing, LocalDateTime cutoff) {
+        return existing.stream().filter(p -> !p.to().isAfter(cutoff)).toList();
+    }
+
+    static PartitionRange parseBound(String name, String bound) {
+        Matcher matcher = RANGE_BOUND.matcher(bound);
+        if (!matcher.find()) {
+            // DEFAULT partition
+            return null;
+        }
+        return new PartitionRange(name,
+                LocalDateTime.parse(matcher.group(1), BOUND_FORMAT),
+                LocalDateTime.parse(matcher.group(2), BOUND_FORMAT));
+    }
+
+    private List<PartitionRange> listPartitions(Connection connection) throws SQLException {
+        List<PartitionRange> partitions = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("""
+                     SELECT c.relname, pg_get_expr(c.relpartbound, c.oid)
+                     FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                     WHERE i.inhparent = 'notification'::regclass
+                     """)) {
+            while (rs.next()) {
+                PartitionRange range = parseBound(rs.getString(1), rs.getString(2));
+                if (range != null) {
+                    partitions.add(range);
+                }
+            }
+        }
+        return partitions;
+    }
+
+    private void createPartition(Connection connection, PartitionRange partition) {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS %s PARTITION OF notification FOR VALUES FROM ('%s') TO ('%s')"
+                    .formatted(partition.name(), partition.from().format(BOUND_FORMAT), partition.to().format(BOUND_FORMAT)));
+            log.info("Created partition {} [{}, {})", partition.name(), partition.from(), partition.to());
+        } catch (SQLException e) {
+            // Typically rows for this range already landed in notification_default and must be moved first
+            log.error("Could not create partition {}", partition.name(), e);
+        }
+    }
+
+    private void retire(Connection connection, PartitionRange partition) throws SQLException {
+        if (!NotificationQueryRepository.PARTITION_NAME.matcher(partition.name()).matches()) {
+            log.warn("Not retiring unexpected partition {}", partition.name());
+            return;
+        }
+        // Detached first, so archiving reads a table nobody writes to any more; its hours leave the stats with it
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement();
+             PreparedStatement deleteStats = connection.prepareStatement(
+                     "DELETE FROM notification_stats WHERE bucket_hour >= ? AND bucket_hour < ?")) {
+            statement.execute("ALTER TABLE notification DETACH PARTITION " + partition.name());
+            deleteStats.setTimestamp(1, Timestamp.valueOf(partition.from()));
+            deleteStats.setTimestamp(2, Timestamp.valueOf(partition.to()));
+            deleteStats.executeUpdate();
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            if (properties.isArchive()) {
+                archive(partition.name());
+            }
+            if (properties.getRetentionAction() == PartitioningProperties.RetentionAction.DROP) {
+                statement.execute("DROP TABLE " + partition.name());
+            }
+        }
+        log.info("Retired partition {} ({})", partition.name(), properties.getRetentionAction());
+    }
+
+    private void archive(String partition) {
+        try {
+            Files.createDirectories(properties.getArchiveDirectory());
+            Path target = properties.getArchiveDirectory().resolve(partition + ".ndjson.gz");
+            Path temp = properties.getArchiveDirectory().resolve(partition + ".ndjson.gz.tmp");
+            long[] rows = {0};
+            try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)));
+                 SequenceWriter writer = ndjsonWriter.writeValues(out)) {
+                readOnlyTransaction.executeWithoutResult(status -> queryRepository.streamPartition(partition, notification -> {
+                    try {
+                        writer.write(notification);
+                        rows[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Archived {} rows of {} to {}", rows[0], partition, target);
+        } catch (IOException e) {
+            // Leaves the partition detached but not dropped, to be archived by hand
+            throw new UncheckedIOException("Archiving " + partition + " failed", e);
+        }
+    }
+
+    private static boolean tryLock(Connection connection) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT pg_try_advisory_lock(hashtext(?))")) {
+            ps.setString(1, LOCK_NAME);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private static void unlock(Connection connection) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT pg_advisory_unlock(hashtext(?))")) {
+            ps.setString(1, LOCK_NAME);
+            ps.execute();
+        }
+    }
+
+    record PartitionRange(String name, LocalDateTime from, LocalDateTime to) {
+
+        boolean overlaps(PartitionRange other) {
+            return from.isBefore(other.to) && other.from.isBefore(to);
+        }
+    }
+}
@@ -2,16 +2,37 @@ package pt.nelsonalmeida.notification.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
+import pt.nelsonalmeida.notification.config.OutboxProperties;
+import pt.nelsonalmeida.notification.config.QueryProperties;
+import pt.nelsonalmeida.notification.dto.NotificationPage;
 import pt.nelsonalmeida.notification.dto.NotificationRequest;
 import pt.nelsonalmeida.notification.dto.NotificationResponse;
+import pt.nelsonalmeida.notification.dto.NotificationSearchCriteria;
+import pt.nelsonalmeida.notification.dto.NotificationSearchResult;
+import pt.nelsonalmeida.notification.dto.NotificationSnapshot;
+import pt.nelsonalmeida.notification.dto.NotificationSummary;
+import pt.nelsonalmeida.notification.events.NotificationChangedEvent;
 import pt.nelsonalmeida.notification.mapper.NotificationMapper;
 import pt.nelsonalmeida.notification.model.Notification;
+import pt.nelsonalmeida.notification.model.NotificationStatus;
+import pt.nelsonalmeida.notification.model.OutboxMessage;
+import pt.nelsonalmeida.notification.repository.NotificationQueryRepository;
 import pt.nelsonalmeida.notification.repository.NotificationRepository;
+import pt.nelsonalmeida.notification.repository.NotificationWriteRepository;
+import pt.nelsonalmeida.notification.repository.NotificationWriteRepository.Change;
+import pt.nelsonalmeida.notification.repository.OutboxRepository;
+import pt.nelsonalmeida.notification.util.KeysetCursor;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -22,59 +43,223 @@ public class NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final NotificationMapper notificationMapper;
+    private final OutboxRepository outboxRepository;
+    private final NotificationQueryRepository notificationQueryRepository;
+    private final NotificationWriteRepository notificationWriteRepository;
+    private final QueryProperties queryProperties;
+    private final OutboxProperties outboxProperties;
+    private final NotificationCache notificationCache;
+    private final MessageTemplateService messageTemplateService;
+    private final NotificationChannels notificationChannels;
+    private final ApplicationEventPublisher eventPublisher;
 
+    /**
+     * Stores the notification as PENDING together with its outbox message; the email itself
+     * is sent asynchronously by the outbox dispatcher.
+     */
+    @Transactional
     public NotificationResponse createNotification(NotificationRequest request) {
         log.info("Processing notification creation for recipient: {}", request.getRecipient());
 
-        sendEmailSimulation(request.getRecipient(),
-                String.format("Update on reservation %s: %s", request.getReservationId(), request.getEventType()));
-
-        Notification notification = notificationMapper.toEntity(request);
-        Notification savedNotification = notificationRepository.save(notification);
+        Notification savedNotification = notificationRepository.save(toPendingEntity(request));
+        outboxRepository.save(toOutboxMessage(savedNotification, request));
+        eventPublisher.publishEvent(NotificationChangedEvent.created(notificationMapper.toSnapshot(savedNotification)));
 
         return notificationMapper.toResponse(savedNotification);
     }
 
-    public List<NotificationResponse> getAllNotifications() {
-        return notificationRepository.findAll().stream()
+    @Transactional
+    public List<NotificationResponse> createNotifications(List<NotificationRequest> requests) {
+        log.info("Processing batch creation of {} notifications", requests.size());
+
+        List<Notification> notifications = new ArrayList<>(requests.size());
+        for (NotificationRequest request : requests) {
+            notifications.add(toPendingEntity(request));
+        }
+        List<Notification> savedNotifications = notificationRepository.saveAll(notifications);
+
+        List<OutboxMessage> messages = new ArrayList<>(savedNotifications.size());
+        for (int i = 0; i < savedNotifications.size(); i++) {
+            Notification notification = savedNotifications.get(i);
+            messages.add(toOutboxMessage(notification, requests.get(i)));
+            eventPublisher.publishEvent(NotificationChangedEvent.created(notificationMapper.toSnapshot(notification)));
+        }
+        outboxRepository.saveAll(messages);
+
+        return savedNotifications.stream()
                 .map(notificationMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
-    public NotificationResponse getNotificationById(UUID id) {
-        return notificationRepository.findById(id)
+    /**
+     * Returns one page in {@code (sent_at, id)} order, starting after {@code cursor}
+     * (or at the beginning when it is null).
+     */
+    public NotificationPage<NotificationResponse> getNotifications(String cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+
+        // One extra row tells whether there is a next page
+        List<Notification> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = notificationRepository.findFirstPage(pageSize + 1);
+        } else {
+            KeysetCursor after = decodeCursor(cursor);
+            rows = notificationRepository.findPageAfter(after.sentAt(), after.id(), pageSize + 1);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<NotificationResponse> items = rows.stream()
+                .limit(pageSize)
                 .map(notificationMapper::toResponse)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Notification not found"));
+                .collect(Collectors.toList());
+
+        NotificationResponse last = hasMore ? items.get(items.size() - 1) : null;
+        return NotificationPage.<NotificationResponse>builder()
+                .items(items)
+                .nextCursor(last != null ? new KeysetCursor(last.getSentAt(), last.getId()).encode() : null)
+                .build();
+    }
+
+    /**
+     * Returns one page of the notifications matching {@code criteria}, in {@code (sent_at, id)} order
+     * like {@link #getNotifications}.
+     */
+    public NotificationPage<NotificationSearchResult> searchNotifications(NotificationSearchCriteria criteria,
+                                                                          String cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+        String prefix = criteria.recipientPrefix();
+        if (prefix != null && prefix.length() < queryProperties.getMinRecipientPrefix()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "recipientPrefix must have at least " + queryProperties.getMinRecipientPrefix() + " characters");
+        }
+        if (criteria.from() != null && criteria.to() != null && !criteria.from().isBefore(criteria.to())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+        }
+
+        KeysetCursor after = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor);
+        List<NotificationSearchResult> rows = notificationQueryRepository.search(criteria, after, pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<NotificationSearchResult> items = hasMore ? rows.subList(0, pageSize) : rows;
+        NotificationSearchResult last = hasMore ? items.get(items.size() - 1) : null;
+        return NotificationPage.<NotificationSearchResult>builder()
+                .items(items)
+                .nextCursor(last != null ? new KeysetCursor(last.sentAt(), last.id()).encode() : null)
+                .build();
+    }
+
+    public List<NotificationSummary> getNotificationsByReservation(UUID reservationId) {
+        return notificationRepository.findByReservationIdOrderBySentAtAscIdAsc(reservationId);
     }
 
-    public NotificationResponse updateNotification(UUID id, NotificationRequest request) {
-        Notification notification = notificationRepository.findById(id)
+    public Map<UUID, List<NotificationSummary>> getNotificationsByReservations(List<UUID> reservationIds) {
+        Set<UUID> distinctIds = new LinkedHashSet<>(reservationIds);
+        if (distinctIds.contains(null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Reservation IDs must not be null");
+        }
+        if (distinctIds.size() > queryProperties.getMaxReservationIds()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + queryProperties.getMaxReservationIds() + " reservation IDs per request");
+        }
+        return notificationQueryRepository.findSummariesByReservationIds(distinctIds);
+    }
+
+    public NotificationResponse getNotificationById(UUID id) {
+        return notificationCache.get(id, key -> notificationRepository.findById(key).map(notificationMapper::toResponse))
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Notification not found"));
+    }
 
-        notification.setReservationId(request.getReservationId());
-        notification.setEventType(request.getEventType());
-        notification.setRecipient(request.getRecipient());
+    /**
+     * Replaces the notification in one conditional {@code UPDATE}.
+     *
+     * @param expectedVersion Version from the client's {@code If-Match}, or null to skip the check
+     */
+    @Transactional
+    public NotificationResponse updateNotification(UUID id, NotificationRequest request, Long expectedVersion) {
+        Change change = notificationWriteRepository.update(id, request, expectedVersion)
+                .orElseThrow(() -> writeRejected(id, expectedVersion, null));
+        return publishUpdate(change);
+    }
+
+    /**
+     * Moves the notification to {@code status}, rejecting transitions its current status does
+     * not allow with 409.
+     */
+    @Transactional
+    public NotificationResponse updateStatus(UUID id, NotificationStatus status, Long expectedVersion) {
+        Change change = notificationWriteRepository.updateStatus(id, status, expectedVersion)
+                .orElseThrow(() -> writeRejected(id, expectedVersion, status));
+        return publishUpdate(change);
+    }
+
+    @Transactional
+    public void deleteNotification(UUID id, Long expectedVersion) {
+        NotificationSnapshot deleted = notificationWriteRepository.delete(id, expectedVersion)
+                .orElseThrow(() -> writeRejected(id, expectedVersion, null));
+        eventPublisher.publishEvent(NotificationChangedEvent.deleted(deleted));
+    }
 
-        if (request.getStatus() != null) {
-            notification.setStatus(request.getStatus());
+    /**
+     * Works out why a conditional write matched no row. Only runs on that failure path, so a
+     * successful write stays a single statement.
+     */
+    private ResponseStatusException writeRejected(UUID id, Long expectedVersion, NotificationStatus targetStatus) {
+        NotificationWriteRepository.State state = notificationWriteRepository.findState(id).orElse(null);
+        if (state == null) {
+            return new ResponseStatusException(HttpStatus.NOT_FOUND, "Notification not found");
         }
+        if (expectedVersion != null && state.version() != expectedVersion) {
+            return new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                    "Notification has been modified; current version is " + state.version());
+        }
+        if (targetStatus != null) {
+            return new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Cannot move notification from " + state.status() + " to " + targetStatus);
+        }
+        // The row changed between the write and this read; report it like a version mismatch
+        return new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Notification has been modified");
+    }
+
+    private NotificationResponse publishUpdate(Change change) {
+        NotificationResponse after = change.after();
+        eventPublisher.publishEvent(NotificationChangedEvent.updated(change.before(), notificationMapper.toSnapshot(after)));
+        return after;
+    }
 
-        Notification updatedNotification = notificationRepository.save(notification);
-        return notificationMapper.toResponse(updatedNotification);
+    private int pageSize(Integer limit) {
+        int pageSize = limit != null ? limit : queryProperties.getDefaultPageSize();
+        if (pageSize < 1 || pageSize > queryProperties.getMaxPageSize()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + queryProperties.getMaxPageSize());
+        }
+        return pageSize;
     }
 
-    public void deleteNotification(UUID id) {
-        if (!notificationRepository.existsById(id)) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Notification not found");
+    private static KeysetCursor decodeCursor(String cursor) {
+        try {
+            return KeysetCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
         }
-        notificationRepository.deleteById(id);
     }
 
-    private void sendEmailSimulation(String to, String body) {
-        log.info("==================================================");
-        log.info("📧 MOCK EMAIL SENT");
-        log.info("To: {}", to);
-        log.info("Body: {}", body);
-        log.info("==================================================");
+    private Notification toPendingEntity(NotificationRequest request) {
+        Notification notification = notificationMapper.toEntity(request);
+        notification.setStatus(NotificationStatus.PENDING.name());
+        return notification;
+    }
+
+    private OutboxMessage toOutboxMessage(Notification notification, NotificationRequest request) {
+        String channel = request.getChannel() != null ? request.getChannel() : notificationChannels.defaultChannel();
+        if (!notificationChannels.contains(channel)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown channel: " + channel);
+        }
+        return OutboxMessage.builder()
+                .notificationId(notification.getId())
+                .channel(channel)
+                .lane(outboxProperties.laneFor(notification.getEventType()))
+                .recipient(notification.getRecipient())
+                .body(messageTemplateService.render(request))
+                .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,195 @@
+package pt.nelsonalmeida.notification.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import pt.nelsonalmeida.notification.config.StatsProperties;
+import pt.nelsonalmeida.notification.dto.NotificationSnapshot;
+import pt.nelsonalmeida.notification.dto.NotificationStatsBucket;
+import pt.nelsonalmeida.notification.dto.NotificationStatsResponse;
+import pt.nelsonalmeida.notification.events.NotificationChangedEvent;
+import pt.nelsonalmeida.notification.repository.NotificationStatsRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Counts notifications per hour of {@code sent_at}, event type and status.
+ * Committed changes are added to in-memory counters and periodically flushed as deltas into
+ * {@code notification_stats}, where every instance's deltas add up; queries read that table only.
+ * Counters are also flushed on shutdown, so only a crash loses changes (at most one flush interval); those are
+ * restored by {@link #reconcile()}, which periodically recounts recent hours from {@code notification} itself.
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties(StatsProperties.class)
+public class NotificationStatsService implements DisposableBean {
+
+    private static final Comparator<Key> FLUSH_ORDER = Comparator.comparing(Key::hour)
+            .thenComparing(Key::eventType)
+            .thenComparing(Key::status);
+
+    /**
+     * Entries are never removed: removing one would race with a concurrent increment, and there
+     * is only one per (hour, type, status) combination touched since startup.
+     */
+    private final Map<Key, LongAdder> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final NotificationStatsRepository statsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final StatsProperties properties;
+
+    public NotificationStatsService(NotificationStatsRepository statsRepository,
+                                    TransactionTemplate transactionTemplate,
+                                    StatsProperties properties) {
+        this.statsRepository = statsRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationChanged(NotificationChangedEvent event) {
+        Key before = event.before() != null ? Key.of(event.before()) : null;
+        Key after = event.after() != null ? Key.of(event.after()) : null;
+        if (before != null && before.equals(after)) {
+            return;
+        }
+        if (before != null) {
+            counter(before).decrement();
+        }
+        if (after != null) {
+            counter(after).increment();
+        }
+    }
+
+    /**
+     * Adds the counted deltas to {@code notification_stats} in one transaction and subtracts what
+     * was written from the counters, leaving increments that raced with the flush for the next one.
+     * On failure nothing is subtracted and the deltas are retried.
+     */
+    @Scheduled(fixedDelayString = "${notification.stats.flush-interval:10s}")
+    public void flush() {
+        // A lock rather than synchronized: the flush blocks on JDBC and may run on a virtual thread
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushPending() {
+        Map<Key, Long> taken = new TreeMap<>(FLUSH_ORDER);
+        pending.forEach((key, counter) -> {
+            long delta = counter.sum();
+            if (delta != 0) {
+                taken.put(key, delta);
+            }
+        });
+        if (taken.isEmpty()) {
+            return;
+        }
+
+        List<NotificationStatsBucket> deltas = new ArrayList<>(taken.size());
+        taken.forEach((key, delta) -> deltas.add(new NotificationStatsBucket(key.hour(), key.eventType(), key.status(), delta)));
+        try {
+            transactionTemplate.executeWithoutResult(tx -> statsRepository.addAll(deltas));
+        } catch (DataAccessException e) {
+            log.warn("Could not flush {} notification stats buckets, retrying on the next flush", deltas.size(), e);
+            return;
+        }
+        taken.forEach((key, delta) -> pending.get(key).add(-delta));
+    }
+
+    /**
+     * Stats for the hours in {@code [from, to)}, both truncated to the hour. {@code to} defaults
+     * to the end of the current hour and {@code from} to {@code notification.stats.default-range}
+     * before it.
+     */
+    public NotificationStatsResponse getStats(LocalDateTime from, LocalDateTime to, String eventType, String status) {
+        LocalDateTime end = to != null
+                ? to.truncatedTo(ChronoUnit.HOURS)
+                : LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusHours(1);
+        LocalDateTime start = from != null
+                ? from.truncatedTo(ChronoUnit.HOURS)
+                : end.minus(properties.getDefaultRange());
+        if (!start.isBefore(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+        }
+        if (Duration.between(start, end).compareTo(properties.getMaxRange()) > 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Range must not exceed " + properties.getMaxRange().toHours() + " hours");
+        }
+
+        List<NotificationStatsBucket> buckets = statsRepository.find(start, end, eventType, status);
+        Map<String, Long> byEventType = new TreeMap<>();
+        Map<String, Long> byStatus = new TreeMap<>();
+        long total = 0;
+        for (NotificationStatsBucket bucket : buckets) {
+            byEventType.merge(bucket.eventType(), bucket.count(), Long::sum);
+            byStatus.merge(bucket.status(), bucket.count(), Long::sum);
+            total += bucket.count();
+        }
+        return NotificationStatsResponse.builder()
+                .from(start)
+                .to(end)
+                .total(total)
+                .byEventType(byEventType)
+                .byStatus(byStatus)
+                .buckets(buckets)
+                .build();
+    }
+
+    /**
+     * Recounts the hours in {@code [now - reconcile-window, now - reconcile-settle)} from {@code notification}
+     * and replaces their buckets, repairing deltas lost in a crash. Hours still receiving changes are left to
+     * the counters: deltas buffered while an hour is recounted would be added on top of it. A late change that
+     * does race with the recount is corrected by the next one. Only one instance recounts at a time.
+     */
+    @Scheduled(fixedDelayString = "${notification.stats.reconcile-interval:15m}",
+            initialDelayString = "${notification.stats.reconcile-interval:15m}")
+    public void reconcile() {
+        LocalDateTime settled = LocalDateTime.now().minus(properties.getReconcileSettle()).truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime from = settled.minus(properties.getReconcileWindow());
+        try {
+            Integer buckets = transactionTemplate.execute(tx -> statsRepository.recount(from, settled));
+            if (buckets != null) {
+                log.debug("Reconciled notification stats for [{}, {}): {} buckets", from, settled, buckets);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not reconcile notification stats, retrying on the next run", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        flush();
+    }
+
+    private LongAdder counter(Key key) {
+        return pending.computeIfAbsent(key, k -> new LongAdder());
+    }
+
+    private record Key(LocalDateTime hour, String eventType, String status) {
+
+        static Key of(NotificationSnapshot snapshot) {
+            return new Key(snapshot.sentAt().truncatedTo(ChronoUnit.HOURS), snapshot.eventType(), snapshot.status());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package pt.nelsonalmeida.notification.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import pt.nelsonalmeida.notification.config.OutboxProperties;
+import pt.nelsonalmeida.notification.events.ReservationEventConsumer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Stops consuming reservation events while email delivery cannot keep up.
+ * When the undelivered outbox backlog passes the high watermark (typically because recipient domains
+ * are rate limited) the reservation listener containers are paused; the consumers keep their partitions
+ * and heartbeats but fetch nothing, and are resumed once the backlog falls below the low watermark.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "notification.outbox.backpressure.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxBackpressure {
+
+    private final OutboxService outboxService;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final OutboxProperties.Backpressure properties;
+    private final AtomicLong backlog = new AtomicLong();
+    private final Counter pauses;
+    private final Counter resumes;
+    private volatile boolean paused;
+
+    public OutboxBackpressure(OutboxService outboxService,
+                              KafkaListenerEndpointRegistry listenerRegistry,
+                              OutboxProperties outboxProperties,
+                              MeterRegistry meterRegistry) {
+        this.outboxService = outboxService;
+        this.listenerRegistry = listenerRegistry;
+        this.properties = outboxProperties.getBackpressure();
+
+        Gauge.builder("notification.outbox.backlog", backlog, AtomicLong::get)
+                .description("Outbox rows not yet delivered")
+                .register(meterRegistry);
+        Gauge.builder("notification.consumer.paused", this, b -> b.paused ? 1 : 0)
+                .description("1 while reservation listeners are paused for backpressure")
+                .register(meterRegistry);
+        this.pauses = Counter.builder("notification.consumer.backpressure")
+                .tag("action", "pause")
+                .register(meterRegistry);
+        this.resumes = Counter.builder("notification.consumer.backpressure")
+                .tag("action", "resume")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${notification.outbox.backpressure.check-interval:5s}")
+    public void check() {
+        long undelivered = outboxService.countUndelivered();
+        backlog.set(undelivered);
+
+        if (!paused && undelivered > properties.getHighWatermark()) {
+            log.warn("Outbox backlog at {} (> {}), pausing reservation listeners", undelivered, properties.getHighWatermark());
+            forEachReservationContainer(MessageListenerContainer::pause);
+            paused = true;
+            pauses.increment();
+        } else if (paused && undelivered < properties.getLowWatermark()) {
+            log.info("Outbox backlog down to {} (< {}), resuming reservation listeners", undelivered, properties.getLowWatermark());
+            forEachReservationContainer(MessageListenerContainer::resume);
+            paused = false;
+            resumes.increment();
+        }
+    }
+
+    private void forEachReservationContainer(Consumer<MessageListenerContainer> action) {
+        // Retry topic containers share the listener id as prefix
+        listenerRegistry.getListenerContainers().stream()
+                .filter(container -> container.getListenerId() != null
+                        && container.getListenerId().startsWith(ReservationEventConsumer.LISTENER_ID))
+                .forEach(action);
+    }
+}
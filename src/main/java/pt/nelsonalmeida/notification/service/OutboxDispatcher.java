@@ -0,0 +1,215 @@
+package pt.nelsonalmeida.notification.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import pt.nelsonalmeida.notification.config.OutboxProperties;
+import pt.nelsonalmeida.notification.model.OutboxMessage;
+import pt.nelsonalmeida.notification.util.WeightedLaneQueue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the notification outbox: claims deliverable rows per lane, sends them on a worker pool
+ * (virtual threads by default) and records SENT / FAILED. Several instances can run side by side,
+ * claims use {@code FOR UPDATE SKIP LOCKED} so each row is handed to a single dispatcher.
+ * <p>
+ * Claimed rows wait in a bounded queue per lane ({@code notification.outbox.lanes}), from which a single
+ * dispatch thread picks the next message by weighted fair scheduling, within each lane's in-flight budget,
+ * so a flood in one lane cannot hold back the others. Each row is sent through the channel it names. Email
+ * rows whose recipient domain is over its rate limit are put back with a delay instead of being sent.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "notification.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxDispatcher implements DisposableBean {
+
+    private final OutboxService outboxService;
+    private final NotificationChannels channels;
+    private final OutboxProperties properties;
+    private final PipelineMetrics metrics;
+    private final EmailRateLimiter rateLimiter;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final WeightedLaneQueue<OutboxMessage> queue;
+    private final Map<String, Timer> laneWaitTimers = new HashMap<>();
+    private final Queue<OutboxService.DeliveryResult> results = new ConcurrentLinkedQueue<>();
+    private final Thread dispatchThread;
+    private volatile boolean running = true;
+
+    public OutboxDispatcher(OutboxService outboxService, NotificationChannels channels, OutboxProperties properties,
+                            PipelineMetrics metrics, EmailRateLimiter rateLimiter, MeterRegistry meterRegistry) {
+        this.outboxService = outboxService;
+        this.channels = channels;
+        this.properties = properties;
+        this.metrics = metrics;
+        this.rateLimiter = rateLimiter;
+        this.permits = new Semaphore(properties.getConcurrency());
+        this.executor = properties.isVirtualThreads()
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("outbox-", 0).factory())
+                : Executors.newFixedThreadPool(properties.getConcurrency(), Thread.ofPlatform().name("outbox-", 0).factory());
+
+        this.queue = new WeightedLaneQueue<>(properties.getStarvationThreshold());
+        properties.effectiveLanes().forEach((name, lane) -> {
+            queue.addLane(name, lane.getWeight(), lane.getCapacity(), lane.getMaxInFlight());
+            Gauge.builder("notification.outbox.lane.depth", queue, q -> q.depth(name))
+                    .description("Claimed messages waiting for a send slot")
+                    .tag("lane", name)
+                    .register(meterRegistry);
+            Gauge.builder("notification.outbox.lane.in_flight", queue, q -> q.inFlight(name))
+                    .description("Messages being sent")
+                    .tag("lane", name)
+                    .register(meterRegistry);
+            laneWaitTimers.put(name, Timer.builder("notification.outbox.lane.wait")
+                    .description("Time between a message becoming deliverable and its send starting")
+                    .tag("lane", name)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        });
+        this.dispatchThread = Thread.ofPlatform().name("outbox-dispatch").daemon().start(this::dispatchLoop);
+    }
+
+    /**
+     * Records the outcome of finished sends and tops every lane up to its capacity.
+     */
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval:500ms}")
+    public void dispatchPending() {
+        completeFinished();
+        for (String lane : properties.effectiveLanes().keySet()) {
+            int room;
+            while ((room = queue.remainingCapacity(lane)) > 0) {
+                int limit = Math.min(room, properties.getBatchSize());
+                List<OutboxMessage> batch = outboxService.claim(lane, limit);
+                batch.forEach(message -> queue.offer(lane, message));
+                if (batch.size() < limit) {
+                    break;
+                }
+            }
+        }
+    }
+
+    @Scheduled(cron = "${notification.outbox.purge-cron:0 0 * * * *}")
+    public void purgeDelivered() {
+        int purged = outboxService.purgeDelivered();
+        if (purged > 0) {
+            log.info("Purged {} delivered outbox messages", purged);
+        }
+    }
+
+    private void dispatchLoop() {
+        long timeout = properties.getPollInterval().toNanos();
+        while (running) {
+            try {
+                WeightedLaneQueue.Dispatch<OutboxMessage> next = queue.poll(timeout, TimeUnit.NANOSECONDS);
+                if (next != null) {
+                    dispatch(next.lane(), next.item());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void dispatch(String lane, OutboxMessage message) throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+        if (!message.getAvailableAt().isAfter(now)) {
+            // Queued past its lease, so another dispatcher may have claimed it already; leave it to whoever does
+            queue.done(lane);
+            log.debug("Skipping outbox message {}, its lease expired while queued", message.getId());
+            return;
+        }
+        laneWaitTimers.get(lane).record(Duration.between(message.getReadyAt(), now));
+
+        Duration wait = StubEmailChannel.NAME.equals(message.getChannel())
+                ? rateLimiter.tryAcquire(message.getRecipient())
+                : Duration.ZERO;
+        if (!wait.isZero()) {
+            queue.done(lane);
+            results.add(OutboxService.DeliveryResult.deferred(message, wait));
+            return;
+        }
+
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            queue.done(lane);
+            results.add(OutboxService.DeliveryResult.deferred(message, Duration.ZERO));
+            throw e;
+        }
+        executor.execute(() -> {
+            try {
+                results.add(send(message));
+            } finally {
+                permits.release();
+                queue.done(lane);
+            }
+        });
+    }
+
+    private OutboxService.DeliveryResult send(OutboxMessage message) {
+        long start = System.nanoTime();
+        try {
+            channels.get(message.getChannel())
+                    .orElseThrow(() -> new IllegalStateException("Unknown channel " + message.getChannel()))
+                    .send(message.getRecipient(), message.getBody());
+            metrics.recordSend(true, start);
+            return OutboxService.DeliveryResult.sent(message);
+        } catch (Exception e) {
+            metrics.recordSend(false, start);
+            log.warn("Delivery of notification {} failed (attempt {})", message.getNotificationId(), message.getAttempts(), e);
+            return OutboxService.DeliveryResult.failed(message, e);
+        }
+    }
+
+    private void completeFinished() {
+        List<OutboxService.DeliveryResult> finished = new ArrayList<>();
+        OutboxService.DeliveryResult result;
+        while ((result = results.poll()) != null) {
+            finished.add(result);
+        }
+        if (!finished.isEmpty()) {
+            outboxService.complete(finished);
+        }
+    }
+
+    /**
+     * Waits for sends in progress, then hands queued messages back as not attempted so another instance
+     * can pick them up without waiting for their lease to expire.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        dispatchThread.interrupt();
+        dispatchThread.join(TimeUnit.SECONDS.toMillis(10));
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+
+        queue.drain().values().forEach(messages -> messages.forEach(
+                message -> results.add(OutboxService.DeliveryResult.deferred(message, Duration.ZERO))));
+        try {
+            completeFinished();
+        } catch (DataAccessException e) {
+            log.warn("Could not record outbox results on shutdown, the rows are retried once their lease expires", e);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package pt.nelsonalmeida.notification.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pt.nelsonalmeida.notification.config.OutboxProperties;
+import pt.nelsonalmeida.notification.dto.NotificationSnapshot;
+import pt.nelsonalmeida.notification.events.NotificationChangedEvent;
+import pt.nelsonalmeida.notification.model.NotificationStatus;
+import pt.nelsonalmeida.notification.model.OutboxMessage;
+import pt.nelsonalmeida.notification.model.OutboxStatus;
+import pt.nelsonalmeida.notification.repository.NotificationWriteRepository;
+import pt.nelsonalmeida.notification.repository.OutboxRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Short transactions around outbox delivery: claiming a batch and recording its outcome.
+ * Sending itself happens outside any transaction, in {@link OutboxDispatcher}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxRepository outboxRepository;
+    private final NotificationWriteRepository notificationWriteRepository;
+    private final OutboxProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Claims deliverable rows of one lane. The default lane also takes rows of lanes that are not configured
+     * (any more), so they are still delivered.
+     */
+    @Transactional
+    public List<OutboxMessage> claim(String lane, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessage> messages;
+        if (!OutboxProperties.DEFAULT_LANE.equals(lane)) {
+            messages = outboxRepository.lockDeliverable(lane, now, limit);
+        } else {
+            Set<String> dedicated = new HashSet<>(properties.effectiveLanes().keySet());
+            dedicated.remove(OutboxProperties.DEFAULT_LANE);
+            messages = dedicated.isEmpty()
+                    ? outboxRepository.lockDeliverable(now, limit)
+                    : outboxRepository.lockDeliverableOutside(dedicated, now, limit);
+        }
+
+        LocalDateTime leaseExpiry = now.plus(properties.getLease());
+        for (OutboxMessage message : messages) {
+            message.setReadyAt(message.getAvailableAt());
+            message.setStatus(OutboxStatus.PROCESSING);
+            message.setAvailableAt(leaseExpiry);
+            message.setAttempts(message.getAttempts() + 1);
+        }
+        return messages;
+    }
+
+    /**
+     * Records delivery outcomes. A result only applies to the claim that produced it: once that claim's lease
+     * expired and the row was claimed again, or already completed, the late result is dropped, so it can neither
+     * send a delivered message again nor give back an attempt of another claim.
+     */
+    @Transactional
+    public void complete(List<DeliveryResult> results) {
+        Map<UUID, OutboxMessage> messages = outboxRepository
+                .lockAllById(results.stream().map(DeliveryResult::outboxId).toList()).stream()
+                .collect(Collectors.toMap(OutboxMessage::getId, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<UUID> sent = new ArrayList<>();
+        List<UUID> failed = new ArrayList<>();
+
+        for (DeliveryResult result : results) {
+            OutboxMessage message = messages.get(result.outboxId());
+            if (message == null) {
+                continue;
+            }
+            if (message.getStatus() != OutboxStatus.PROCESSING || message.getAttempts() != result.attempt()) {
+                log.warn("Ignoring a late result of attempt {} for outbox message {}, which is now {} at attempt {}",
+                        result.attempt(), message.getId(), message.getStatus(), message.getAttempts());
+                continue;
+            }
+            if (result.deferredFor() != null) {
+                // Rate limited before any send was attempted, so the claim does not count as an attempt
+                message.setStatus(OutboxStatus.PENDING);
+                message.setAvailableAt(now.plus(result.deferredFor()));
+                message.setAttempts(message.getAttempts() - 1);
+            } else if (result.error() == null) {
+                message.setStatus(OutboxStatus.SENT);
+                message.setProcessedAt(now);
+                message.setLastError(null);
+                sent.add(message.getNotificationId());
+            } else if (message.getAttempts() >= properties.getMaxAttempts()) {
+                message.setStatus(OutboxStatus.FAILED);
+                message.setProcessedAt(now);
+                message.setLastError(result.error());
+                failed.add(message.getNotificationId());
+                log.error("Giving up on notification {} after {} attempts: {}",
+                        message.getNotificationId(), message.getAttempts(), result.error());
+            } else {
+                message.setStatus(OutboxStatus.PENDING);
+                message.setAvailableAt(now.plus(properties.getRetryBackoff().multipliedBy(1L << (message.getAttempts() - 1))));
+                message.setLastError(result.error());
+            }
+        }
+
+        if (!sent.isEmpty()) {
+            publishStatusChanges(notificationWriteRepository.updateStatuses(sent, NotificationStatus.SENT.name()),
+                    NotificationStatus.SENT);
+        }
+        if (!failed.isEmpty()) {
+            publishStatusChanges(notificationWriteRepository.updateStatuses(failed, NotificationStatus.FAILED.name()),
+                    NotificationStatus.FAILED);
+        }
+    }
+
+    private void publishStatusChanges(List<NotificationSnapshot> previous, NotificationStatus status) {
+        for (NotificationSnapshot before : previous) {
+            eventPublisher.publishEvent(NotificationChangedEvent.updated(before, before.withStatus(status.name())));
+        }
+    }
+
+    @Transactional
+    public int purgeDelivered() {
+        return outboxRepository.deleteSentBefore(LocalDateTime.now().minus(properties.getRetention()));
+    }
+
+    @Transactional(readOnly = true)
+    public long countUndelivered() {
+        return outboxRepository.countUndelivered();
+    }
+
+    /**
+     * @param attempt The claimed message's attempt count, which identifies the claim: every claim increments it and
+     *                a deferral only gives back its own
+     */
+    public record DeliveryResult(UUID outboxId, int attempt, String error, Duration deferredFor) {
+
+        public static DeliveryResult sent(OutboxMessage message) {
+            return new DeliveryResult(message.getId(), message.getAttempts(), null, null);
+        }
+
+        public static DeliveryResult failed(OutboxMessage message, Exception e) {
+            return new DeliveryResult(message.getId(), message.getAttempts(),
+                    e.getClass().getSimpleName() + ": " + e.getMessage(), null);
+        }
+
+        public static DeliveryResult deferred(OutboxMessage message, Duration wait) {
+            return new DeliveryResult(message.getId(), message.getAttempts(), null, wait);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package pt.nelsonalmeida.notification.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import pt.nelsonalmeida.notification.dto.ReservationEventType;
+import pt.nelsonalmeida.notification.events.ReservationTopics;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters for the event pipeline: Kafka record &rarr; decode &rarr; persist &rarr; outbox send.
+ * Every meter is registered up front and held in arrays or enum maps, so recording on the hot
+ * path is a lookup plus an atomic update, without touching the registry.
+ */
+@Component
+public class PipelineMetrics {
+
+    public enum Stage {
+        DECODE,
+        PERSIST
+    }
+
+    public enum Outcome {
+        SUCCESS,
+        DUPLICATE,
+        FAILURE,
+        DLT
+    }
+
+    private final ReservationTopics topics;
+    private final Map<ReservationEventType, EventMeters> meters = new EnumMap<>(ReservationEventType.class);
+    private final Timer batchPersistTimer;
+    private final DistributionSummary batchSize;
+    private final Timer sendSuccessTimer;
+    private final Timer sendFailureTimer;
+
+    public PipelineMetrics(MeterRegistry registry, ReservationTopics topics) {
+        this.topics = topics;
+        for (ReservationEventType type : ReservationEventType.values()) {
+            meters.put(type, new EventMeters(registry, type, topics.topicOf(type)));
+        }
+
+        this.batchPersistTimer = Timer.builder("notification.pipeline.batch.persist")
+                .description("Time to claim and persist one consumer batch")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.batchSize = DistributionSummary.builder("notification.pipeline.batch.size")
+                .description("Records per consumer batch")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.sendSuccessTimer = sendTimer(registry, "success");
+        this.sendFailureTimer = sendTimer(registry, "failure");
+    }
+
+    public void recordStage(ReservationEventType type, Stage stage, long startNanos) {
+        meters.get(type).stages[stage.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param recordTimestamp The Kafka record timestamp, i.e. when it was produced or appended
+     */
+    public void recordConsumerLag(ReservationEventType type, long recordTimestamp) {
+        if (recordTimestamp > 0) {
+            meters.get(type).consumerLag.record(Math.max(0, System.currentTimeMillis() - recordTimestamp), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Records the time from the envelope timestamp set by the producer to now, once the notification is durable.
+     */
+    public void recordEndToEnd(ReservationEventType type, Instant envelopeTimestamp) {
+        if (envelopeTimestamp != null) {
+            meters.get(type).endToEnd.record(
+                    Math.max(0, System.currentTimeMillis() - envelopeTimestamp.toEpochMilli()), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void recordOutcome(ReservationEventType type, Outcome outcome) {
+        meters.get(type).outcomes[outcome.ordinal()].increment();
+    }
+
+    public void recordRetryDelivery(ReservationEventType type) {
+        meters.get(type).retries.increment();
+    }
+
+    /**
+     * Counts a record published to, or received from, a dead-letter topic derived from a reservation topic.
+     */
+    public void recordDeadLetter(String topic) {
+        ReservationEventType type = topics.typeOf(topic);
+        if (type != null) {
+            recordOutcome(type, Outcome.DLT);
+        }
+    }
+
+    public void recordBatchPersist(int size, long startNanos) {
+        batchPersistTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        batchSize.record(size);
+    }
+
+    public void recordSend(boolean success, long startNanos) {
+        (success ? sendSuccessTimer : sendFailureTimer).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer sendTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("notification.pipeline.send")
+                .description("Time to deliver one outbox message")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static final class EventMeters {
+
+        private final Timer[] stages = new Timer[Stage.values().length];
+        private final Counter[] outcomes = new Counter[Outcome.values().length];
+        private final Timer consumerLag;
+        private final Timer endToEnd;
+        private final Counter retries;
+
+        private EventMeters(MeterRegistry registry, ReservationEventType type, String topic) {
+            String eventType = type.getNotificationEventType();
+            for (Stage stage : Stage.values()) {
+                stages[stage.ordinal()] = Timer.builder("notification.pipeline.stage")
+                        .description("Time spent per pipeline stage")
+                        .tags("topic", topic, "eventType", eventType, "stage", stage.name().toLowerCase())
+                        .publishPercentileHistogram()
+                        .register(registry);
+            }
+            for (Outcome outcome : Outcome.values()) {
+                outcomes[outcome.ordinal()] = Counter.builder("notification.pipeline.events")
+                        .description("Reservation events by processing outcome; its rate is the per-event-type throughput")
+                        .tags("topic", topic, "eventType", eventType, "outcome", outcome.name().toLowerCase())
+                        .register(registry);
+            }
+            this.consumerLag = Timer.builder("notification.pipeline.consumer.lag")
+                    .description("Time between a record's Kafka timestamp and its consumption")
+                    .tags("topic", topic, "eventType", eventType)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            this.endToEnd = Timer.builder("notification.pipeline.end_to_end")
+                    .description("Time between the envelope timestamp and the notification being persisted")
+                    .tags("topic", topic, "eventType", eventType)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            this.retries = Counter.builder("notification.pipeline.retries")
+                    .description("Deliveries received from a retry topic")
+                    .tags("topic", topic, "eventType", eventType)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package pt.nelsonalmeida.notification.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import pt.nelsonalmeida.notification.config.ChannelProperties;
+
+import java.time.Duration;
+
+/**
+ * Local stand-in for a mail provider. {@code notification.channels.email.stub-latency} simulates the
+ * round trip of a real SMTP call so the dispatcher can be exercised under realistic timings. Messages
+ * are only logged at DEBUG, so logging does not dominate a load test.
+ */
+@Slf4j
+@Component
+public class StubEmailChannel implements NotificationChannel {
+
+    public static final String NAME = "email";
+
+    private final Duration latency;
+
+    public StubEmailChannel(ChannelProperties properties) {
+        this.latency = properties.getEmail().getStubLatency();
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void send(String recipient, String body) {
+        if (!latency.isZero()) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while sending email", e);
+            }
+        }
+        log.debug("Mock email to {}: {}", recipient, body);
+    }
+}
@@ -0,0 +1,82 @@
+package pt.nelsonalmeida.notification.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import pt.nelsonalmeida.notification.config.ChannelProperties;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Channel that POSTs {@code {"recipient": ..., "body": ...}} to a configured URL, e.g. an SMS gateway.
+ * Each webhook has its own HTTP client, and so its own connection pool; HTTP/2 endpoints multiplex
+ * concurrent sends over a single connection. Any non-2xx answer fails the send, so it is retried.
+ */
+class WebhookChannel implements NotificationChannel, AutoCloseable {
+
+    private final String name;
+    private final ChannelProperties.Webhook properties;
+    private final ObjectMapper objectMapper;
+    private final HttpClient client;
+    private final Semaphore inFlight;
+
+    WebhookChannel(String name, ChannelProperties.Webhook properties, ObjectMapper objectMapper) {
+        if (properties.getUrl() == null) {
+            throw new IllegalStateException("Webhook channel " + name + " has no url");
+        }
+        this.name = name;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.inFlight = new Semaphore(properties.getMaxConcurrency());
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(properties.getConnectTimeout())
+                .build();
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public void send(String recipient, String body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(properties.getUrl())
+                .timeout(properties.getRequestTimeout())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(payload(recipient, body)));
+        properties.getHeaders().forEach(request::header);
+
+        inFlight.acquireUninterruptibly();
+        try {
+            HttpResponse<Void> response = client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() / 100 != 2) {
+                throw new IllegalStateException("Webhook " + name + " answered " + response.statusCode());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Webhook " + name + " failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while calling webhook " + name, e);
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    @Override
+    public void close() {
+        client.close();
+    }
+
+    private byte[] payload(String recipient, String body) {
+        try {
+            return objectMapper.writeValueAsBytes(Map.of("recipient", recipient, "body", body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode webhook payload", e);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package pt.nelsonalmeida.notification.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * A concurrency limit that adapts to measured latency, in the style of a gradient limiter.
+ * <p>
+ * Latencies are averaged over windows of at least {@code windowSamples} samples and {@code minWindow}. At the end of
+ * each window the short-term average is compared with a slow moving long-term average: while the two agree the limit
+ * grows by roughly its square root, and as the short-term latency rises above the long-term one the limit shrinks in
+ * proportion, down to half per window. A window with a request that failed from overload ends as soon as it has
+ * lasted {@code minWindow} and shrinks the limit by {@code backoffRatio} instead.
+ * Windows in which less than half of the limit was in use leave it unchanged, so a quiet period cannot inflate it.
+ */
+public final class AdaptiveConcurrencyLimit {
+
+    /** Long-term latency is an average over about this many windows. */
+    private static final int LONG_WINDOWS = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final double backoffRatio;
+    private final int windowSamples;
+    private final long minWindowNanos;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile double limit;
+    // Guarded by lock
+    private double longRttNanos;
+    private long windowStart;
+    private long windowRttSum;
+    private int windowCount;
+    private int windowMaxInFlight;
+    private boolean windowDropped;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing,
+                                    double backoffRatio, int windowSamples, long minWindowNanos) {
+        this(initialLimit, minLimit, maxLimit, tolerance, smoothing, backoffRatio, windowSamples, minWindowNanos,
+                System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing,
+                             double backoffRatio, int windowSamples, long minWindowNanos, LongSupplier nanoClock) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.backoffRatio = backoffRatio;
+        this.windowSamples = windowSamples;
+        this.minWindowNanos = minWindowNanos;
+        this.nanoClock = nanoClock;
+        this.windowStart = nanoClock.getAsLong();
+    }
+
+    /**
+     * @return false if the limit is reached; otherwise the caller must {@link #release} once done
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @param rttNanos How long the request took
+     * @param dropped  Whether it failed because the service was overloaded, e.g. no database connection was free
+     */
+    public void release(long rttNanos, boolean dropped) {
+        int released = inFlight.getAndDecrement();
+        lock.lock();
+        try {
+            windowMaxInFlight = Math.max(windowMaxInFlight, released);
+            windowDropped |= dropped;
+            if (!dropped) {
+                windowRttSum += rttNanos;
+                windowCount++;
+            }
+            long now = nanoClock.getAsLong();
+            if (windowDropped && now - windowStart >= minWindowNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                resetWindow(now);
+            } else if (windowCount >= windowSamples && now - windowStart >= minWindowNanos) {
+                limit = next((double) windowRttSum / windowCount);
+                resetWindow(now);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private double next(double shortRtt) {
+        if (longRttNanos == 0) {
+            longRttNanos = shortRtt;
+            return limit;
+        }
+        longRttNanos += (shortRtt - longRttNanos) / LONG_WINDOWS;
+        // After latency falls the long-term average lags far above it and would hide the next rise; catch up faster
+        if (longRttNanos > shortRtt * 2) {
+            longRttNanos *= 0.95;
+        }
+        if (windowMaxInFlight < limit / 2) {
+            return limit;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        double smoothed = limit * (1 - smoothing) + target * smoothing;
+        return Math.max(minLimit, Math.min(maxLimit, smoothed));
+    }
+
+    private void resetWindow(long now) {
+        windowStart = now;
+        windowRttSum = 0;
+        windowCount = 0;
+        windowMaxInFlight = 0;
+        windowDropped = false;
+    }
+}
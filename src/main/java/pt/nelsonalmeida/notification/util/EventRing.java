@@ -0,0 +1,56 @@
+package pt.nelsonalmeida.notification.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * The most recent events, numbered from 1 in the order they were appended, so a reader that saw up to some
+ * sequence number can fetch what followed as long as it has not been overwritten. Not thread-safe.
+ */
+public final class EventRing<T> {
+
+    private final Object[] entries;
+    private long lastSequence;
+
+    public EventRing(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.entries = new Object[capacity];
+    }
+
+    /**
+     * @return The sequence number of the appended event
+     */
+    public long append(T event) {
+        lastSequence++;
+        entries[(int) ((lastSequence - 1) % entries.length)] = event;
+        return lastSequence;
+    }
+
+    public long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * The retained events after {@code sequence} that match {@code filter}, oldest first.
+     *
+     * @return null if events after {@code sequence} were already overwritten, or if it was never issued
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> since(long sequence, Predicate<? super T> filter) {
+        long oldest = Math.max(1, lastSequence - entries.length + 1);
+        if (sequence < oldest - 1 || sequence > lastSequence) {
+            return null;
+        }
+        List<T> events = new ArrayList<>();
+        for (long next = sequence + 1; next <= lastSequence; next++) {
+            T event = (T) entries[(int) ((next - 1) % entries.length)];
+            if (filter.test(event)) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+}
@@ -0,0 +1,44 @@
+package pt.nelsonalmeida.notification.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last row of a page in {@code (sent_at, id)} order, exchanged with clients
+ * as an opaque URL-safe token.
+ */
+public record KeysetCursor(LocalDateTime sentAt, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * @throws IllegalArgumentException if either column is null, since a null cannot be compared in keyset order
+     */
+    public KeysetCursor {
+        if (sentAt == null || id == null) {
+            throw new IllegalArgumentException("A cursor needs both sent_at and id");
+        }
+    }
+
+    public String encode() {
+        String raw = sentAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new KeysetCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package pt.nelsonalmeida.notification.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only file written through memory-mapped regions: an append is a copy into the page cache,
+ * with no system call except when a region fills up and the next one is mapped. Nothing is forced
+ * to disk before {@link #close()}, which also trims the unused end of the last region; a file left
+ * by a crash ends in zero padding.
+ */
+public final class MappedFileAppender implements Closeable {
+
+    private final FileChannel channel;
+    private final long regionSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private MappedByteBuffer region;
+    private long regionStart;
+    private long size;
+    private boolean closed;
+
+    public MappedFileAppender(Path file, long regionSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.regionSize = regionSize;
+        this.size = channel.size();
+        this.regionStart = size;
+        this.region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, regionSize);
+    }
+
+    /**
+     * Appends the record as one contiguous run of bytes, possibly spanning two regions.
+     */
+    public void append(byte[] record) {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Appender is closed");
+            }
+            int offset = 0;
+            while (offset < record.length) {
+                if (!region.hasRemaining()) {
+                    mapNextRegion();
+                }
+                int length = Math.min(region.remaining(), record.length - offset);
+                region.put(record, offset, length);
+                offset += length;
+            }
+            size += record.length;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Bytes written, including what the file held when it was opened. */
+    public long size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            region.force();
+            channel.truncate(size);
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void mapNextRegion() {
+        try {
+            regionStart += regionSize;
+            region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, regionSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map the next region of the sink file", e);
+        }
+    }
+}
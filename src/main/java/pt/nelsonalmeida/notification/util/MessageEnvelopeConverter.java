@@ -1,13 +1,16 @@
 package pt.nelsonalmeida.notification.util;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import pt.nelsonalmeida.notification.dto.MessageEnvelope;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Generic utility to convert between MessageEnvelope representations.
  * Handles conversion from raw JSON strings to typed MessageEnvelope objects
@@ -19,6 +22,7 @@ import pt.nelsonalmeida.notification.dto.MessageEnvelope;
 public class MessageEnvelopeConverter {
 
     private final ObjectMapper objectMapper;
+    private final Map<Class<?>, ObjectReader> envelopeReaders = new ConcurrentHashMap<>();
 
     /**
      * Converts a raw JSON string to a strongly-typed MessageEnvelope.
@@ -31,23 +35,11 @@ public class MessageEnvelopeConverter {
      */
     public <T> MessageEnvelope<T> convertFromJson(String json, Class<T> payloadType) {
         try {
-            // First, deserialize to a raw MessageEnvelope with Object payload
-            TypeReference<MessageEnvelope<Object>> typeRef = new TypeReference<>() {};
-            MessageEnvelope<Object> rawEnvelope = objectMapper.readValue(json, typeRef);
-
-            // Then convert the payload to the target type
-            T typedPayload = objectMapper.convertValue(rawEnvelope.getPayload(), payloadType);
-
-            // Create a new envelope with the typed payload
-            return new MessageEnvelope<>(
-                    rawEnvelope.getMessageId(),
-                    rawEnvelope.getType(),
-                    rawEnvelope.getTimestamp(),
-                    rawEnvelope.getCorrelationId(),
-                    rawEnvelope.getCausationId(),
-                    typedPayload
-            );
-
+            // Bind the payload to its target type while parsing, instead of going through a Map
+            return envelopeReaders
+                    .computeIfAbsent(payloadType, type -> objectMapper.readerFor(
+                            objectMapper.getTypeFactory().constructParametricType(MessageEnvelope.class, type)))
+                    .readValue(json);
         } catch (JsonProcessingException e) {
             log.error("Failed to parse JSON message: {}", json, e);
             throw new IllegalArgumentException("Invalid message format", e);
@@ -0,0 +1,174 @@
+package pt.nelsonalmeida.notification.util;
+
+import pt.nelsonalmeida.notification.dto.NotificationRequest;
+
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * A message template compiled into a flat render plan.
+ * <p>
+ * {@code {{field}}} inserts a {@link Field} of the request and {@code {{#field}}...{{/field}}} keeps its
+ * content only when the field is set. Dates are formatted for the template's locale. Parsing and field
+ * lookup happen once in {@link #compile}; rendering walks the plan and appends straight to the caller's
+ * buffer.
+ */
+public final class MessageTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+    /** Room reserved per field when sizing the render buffer; fits an id, an email address or a date. */
+    private static final int FIELD_ESTIMATE = 40;
+
+    private final Op[] plan;
+    /** Initial render buffer capacity, so a typical body is built without growing it. */
+    private final int estimatedLength;
+    private final DateTimeFormatter dateTimeFormatter;
+
+    private MessageTemplate(Op[] plan, Locale locale) {
+        this.plan = plan;
+        int length = 0;
+        for (Op op : plan) {
+            length += switch (op.kind()) {
+                case LITERAL -> op.text().length();
+                case FIELD -> FIELD_ESTIMATE;
+                case SECTION -> 0;
+            };
+        }
+        this.estimatedLength = length;
+        this.dateTimeFormatter = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.LONG, FormatStyle.SHORT)
+                .withLocale(locale);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the source has an unknown field or unbalanced tags
+     */
+    public static MessageTemplate compile(String source, Locale locale) {
+        List<Op> plan = new ArrayList<>();
+        Deque<Integer> openSections = new ArrayDeque<>();
+        int position = 0;
+        while (position < source.length()) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) {
+                plan.add(Op.literal(source.substring(position)));
+                break;
+            }
+            if (open > position) {
+                plan.add(Op.literal(source.substring(position, open)));
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed tag at offset " + open);
+            }
+            String tag = source.substring(open + OPEN.length(), close).strip();
+            if (tag.startsWith("#")) {
+                openSections.push(plan.size());
+                plan.add(new Op(Kind.SECTION, null, Field.named(tag.substring(1).strip()), -1));
+            } else if (tag.startsWith("/")) {
+                Field field = Field.named(tag.substring(1).strip());
+                if (openSections.isEmpty() || plan.get(openSections.peek()).field() != field) {
+                    throw new IllegalArgumentException("Unexpected {{/" + field.key + "}} at offset " + open);
+                }
+                int start = openSections.pop();
+                plan.set(start, new Op(Kind.SECTION, null, field, plan.size()));
+            } else {
+                plan.add(new Op(Kind.FIELD, null, Field.named(tag), -1));
+            }
+            position = close + CLOSE.length();
+        }
+        if (!openSections.isEmpty()) {
+            throw new IllegalArgumentException("Unclosed section {{#" + plan.get(openSections.peek()).field().key + "}}");
+        }
+        return new MessageTemplate(plan.toArray(Op[]::new), locale);
+    }
+
+    public String render(NotificationRequest request) {
+        StringBuilder out = new StringBuilder(estimatedLength);
+        renderTo(request, out);
+        return out.toString();
+    }
+
+    public void renderTo(NotificationRequest request, StringBuilder out) {
+        int i = 0;
+        while (i < plan.length) {
+            Op op = plan[i];
+            switch (op.kind()) {
+                case LITERAL -> out.append(op.text());
+                case FIELD -> append(op.field().value(request), out);
+                case SECTION -> {
+                    if (op.field().value(request) == null) {
+                        i = op.end();
+                        continue;
+                    }
+                }
+            }
+            i++;
+        }
+    }
+
+    private void append(Object value, StringBuilder out) {
+        switch (value) {
+            case null -> {
+            }
+            case TemporalAccessor temporal -> dateTimeFormatter.formatTo(temporal, out);
+            case Integer number -> out.append(number.intValue());
+            case String text -> out.append(text);
+            default -> out.append(value);
+        }
+    }
+
+    /**
+     * Request fields a template can refer to, by the name used in tags.
+     */
+    public enum Field {
+        RESERVATION_ID("reservationId", NotificationRequest::getReservationId),
+        EVENT_TYPE("eventType", NotificationRequest::getEventType),
+        RECIPIENT("recipient", NotificationRequest::getRecipient),
+        SCHEDULED_AT("scheduledAt", NotificationRequest::getScheduledAt),
+        NUMBER_OF_PEOPLE("numberOfPeople", NotificationRequest::getNumberOfPeople),
+        REASON("reason", NotificationRequest::getReason),
+        CANCEL_DATE("cancelDate", NotificationRequest::getCancelDate);
+
+        private final String key;
+        private final Function<NotificationRequest, Object> accessor;
+
+        Field(String key, Function<NotificationRequest, Object> accessor) {
+            this.key = key;
+            this.accessor = accessor;
+        }
+
+        Object value(NotificationRequest request) {
+            return accessor.apply(request);
+        }
+
+        static Field named(String key) {
+            for (Field field : values()) {
+                if (field.key.equals(key)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("Unknown template field: " + key);
+        }
+    }
+
+    private enum Kind {
+        LITERAL,
+        FIELD,
+        /** Skips to {@code end} when the field is null; the closing tag itself has no op. */
+        SECTION
+    }
+
+    private record Op(Kind kind, String text, Field field, int end) {
+
+        static Op literal(String text) {
+            return new Op(Kind.LITERAL, text, null, -1);
+        }
+    }
+}
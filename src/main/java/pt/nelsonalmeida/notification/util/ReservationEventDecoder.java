@@ -0,0 +1,103 @@
+package pt.nelsonalmeida.notification.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.springframework.stereotype.Component;
+import pt.nelsonalmeida.notification.dto.MessageEnvelope;
+import pt.nelsonalmeida.notification.dto.ReservationEventType;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Decodes reservation event envelopes in a single streaming pass.
+ * The envelope fields are read straight off the parser and the payload is bound directly
+ * to its event class with a pre-built {@link ObjectReader}, chosen from the envelope
+ * {@code type} field (or the topic's type when the header is missing or unknown).
+ * The payload is only buffered when it appears before {@code type} in the document.
+ */
+@Component
+public class ReservationEventDecoder {
+
+    private final JsonFactory jsonFactory;
+    private final ObjectReader instantReader;
+    private final Map<ReservationEventType, ObjectReader> payloadReaders = new EnumMap<>(ReservationEventType.class);
+
+    public ReservationEventDecoder(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.instantReader = objectMapper.readerFor(Instant.class);
+        for (ReservationEventType type : ReservationEventType.values()) {
+            payloadReaders.put(type, objectMapper.readerFor(type.getPayloadType()));
+        }
+    }
+
+    /**
+     * Decodes a raw envelope.
+     *
+     * @param json The raw message
+     * @param defaultType The type to bind the payload to when the {@code type} header does not name one
+     * @return The envelope, its payload being an instance of the resolved type's payload class
+     * @throws IllegalArgumentException if the message is malformed or its type cannot be resolved
+     */
+    public MessageEnvelope<Object> decode(String json, ReservationEventType defaultType) {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Message is not a JSON object");
+            }
+
+            MessageEnvelope<Object> envelope = new MessageEnvelope<>();
+            ReservationEventType type = null;
+            boolean typeSeen = false;
+            TokenBuffer bufferedPayload = null;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                switch (field) {
+                    case "messageId" -> envelope.setMessageId(token == JsonToken.VALUE_NULL ? null : UUID.fromString(parser.getText()));
+                    case "type" -> {
+                        envelope.setType(parser.getValueAsString());
+                        type = ReservationEventType.fromHeader(envelope.getType()).orElse(defaultType);
+                        typeSeen = true;
+                    }
+                    case "timestamp" -> envelope.setTimestamp(instantReader.readValue(parser));
+                    case "correlationId" -> envelope.setCorrelationId(parser.getValueAsString());
+                    case "causationId" -> envelope.setCausationId(parser.getValueAsString());
+                    case "payload" -> {
+                        if (typeSeen) {
+                            envelope.setPayload(readPayload(type, envelope, parser));
+                        } else {
+                            bufferedPayload = new TokenBuffer(parser);
+                            bufferedPayload.copyCurrentStructure(parser);
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+
+            if (bufferedPayload != null) {
+                try (JsonParser payloadParser = bufferedPayload.asParser()) {
+                    envelope.setPayload(readPayload(typeSeen ? type : defaultType, envelope, payloadParser));
+                }
+            }
+            return envelope;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid message format", e);
+        }
+    }
+
+    private Object readPayload(ReservationEventType type, MessageEnvelope<?> envelope, JsonParser parser)
+            throws IOException {
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown event type: " + envelope.getType());
+        }
+        return payloadReaders.get(type).readValue(parser);
+    }
+}
@@ -0,0 +1,69 @@
+package pt.nelsonalmeida.notification.util;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Time-ordered UUIDs in the version 7 layout (RFC 9562): a 48-bit Unix millisecond timestamp, then a 12-bit
+ * counter and 62 random bits. IDs sort by creation time, so new index entries land on the right-most B-tree
+ * pages instead of random ones.
+ * <p>
+ * Each thread keeps its own timestamp and counter, so generating takes no lock or shared write. IDs from one
+ * thread are strictly increasing (the counter starts at a random value every millisecond, and a counter
+ * overflow borrows the next millisecond); IDs from different threads are ordered by millisecond.
+ */
+public final class UuidV7 {
+
+    private static final int COUNTER_BITS = 12;
+    private static final int COUNTER_MAX = (1 << COUNTER_BITS) - 1;
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private UuidV7() {
+    }
+
+    public static UUID next() {
+        return STATE.get().next(System.currentTimeMillis());
+    }
+
+    /**
+     * @throws IllegalArgumentException if the id is not a version 7 UUID
+     */
+    public static Instant timestamp(UUID id) {
+        if (id.version() != 7) {
+            throw new IllegalArgumentException("Not a version 7 UUID: " + id);
+        }
+        return Instant.ofEpochMilli(id.getMostSignificantBits() >>> 16);
+    }
+
+    /**
+     * The smallest version 7 UUID of the given millisecond, e.g. to start an id range at a point in time.
+     */
+    public static UUID lowerBound(Instant instant) {
+        return new UUID((instant.toEpochMilli() << 16) | VERSION, VARIANT);
+    }
+
+    static final class State {
+
+        private long lastMillis = Long.MIN_VALUE;
+        private int counter;
+
+        UUID next(long nowMillis) {
+            if (nowMillis > lastMillis) {
+                lastMillis = nowMillis;
+                // Leave the upper half of the counter as headroom for IDs in the same millisecond
+                counter = ThreadLocalRandom.current().nextInt(COUNTER_MAX >> 1);
+            } else if (++counter > COUNTER_MAX) {
+                // Same millisecond (or the clock went back): stay monotonic by borrowing from the future
+                lastMillis++;
+                counter = ThreadLocalRandom.current().nextInt(COUNTER_MAX >> 1);
+            }
+            long msb = (lastMillis << 16) | VERSION | counter;
+            long lsb = (ThreadLocalRandom.current().nextLong() & RANDOM_MASK) | VARIANT;
+            return new UUID(msb, lsb);
+        }
+    }
+}
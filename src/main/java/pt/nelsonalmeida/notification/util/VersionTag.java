@@ -0,0 +1,38 @@
+package pt.nelsonalmeida.notification.util;
+
+/**
+ * Maps a notification version to and from the strong entity tag sent in {@code ETag} and
+ * {@code If-Match} headers.
+ */
+public final class VersionTag {
+
+    private VersionTag() {
+    }
+
+    public static String format(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * @return The version the client expects, or null when the header is absent or {@code *}
+     * @throws IllegalArgumentException if the header is not a single tag produced by {@link #format}
+     */
+    public static Long parseIfMatch(String header) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        String tag = header.strip();
+        if (tag.equals("*")) {
+            return null;
+        }
+        // If-Match uses strong comparison, so a weak tag can never match
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            throw new IllegalArgumentException("Not a notification entity tag: " + tag);
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a notification entity tag: " + tag, e);
+        }
+    }
+}
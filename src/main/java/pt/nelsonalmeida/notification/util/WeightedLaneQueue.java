@@ -0,0 +1,233 @@
+package pt.nelsonalmeida.notification.util;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded per-lane queues drained by weighted fair scheduling.
+ * <p>
+ * Lanes are served in stride order: each dispatch advances the lane's pass by {@code 1 / weight}, and the
+ * lane with the lowest pass goes next, so over time a lane with weight 8 is served eight times as often as
+ * one with weight 1 while both have work. A lane that was idle rejoins at the current pass instead of
+ * cashing in the turns it skipped. Each lane also has a budget of items in flight at once, and a lane whose
+ * oldest item has waited {@code maxWait} is served before any other, so low-weight lanes cannot starve.
+ * <p>
+ * Guarded by a {@link ReentrantLock} rather than a monitor, so a virtual thread waiting in
+ * {@link #poll(long, TimeUnit)} does not pin its carrier.
+ */
+public final class WeightedLaneQueue<T> {
+
+    private final Map<String, Lane<T>> lanes = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final long maxWaitNanos;
+    private final LongSupplier nanoClock;
+    private double virtualTime;
+
+    public WeightedLaneQueue(Duration maxWait) {
+        this(maxWait, System::nanoTime);
+    }
+
+    WeightedLaneQueue(Duration maxWait, LongSupplier nanoClock) {
+        this.maxWaitNanos = maxWait.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    public void addLane(String name, int weight, int capacity, int maxInFlight) {
+        if (weight < 1 || capacity < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("Lane " + name + " needs a positive weight, capacity and max in flight");
+        }
+        lock.lock();
+        try {
+            if (lanes.putIfAbsent(name, new Lane<>(1.0 / weight, capacity, maxInFlight)) != null) {
+                throw new IllegalArgumentException("Duplicate lane " + name);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return false if the lane is full
+     */
+    public boolean offer(String lane, T item) {
+        lock.lock();
+        try {
+            Lane<T> target = lane(lane);
+            if (target.queue.size() >= target.capacity) {
+                return false;
+            }
+            if (target.queue.isEmpty() && target.inFlight == 0) {
+                target.pass = Math.max(target.pass, virtualTime);
+            }
+            target.queue.addLast(new Queued<>(item, nanoClock.getAsLong()));
+            available.signalAll();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int remainingCapacity(String lane) {
+        lock.lock();
+        try {
+            Lane<T> target = lane(lane);
+            return target.capacity - target.queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int depth(String lane) {
+        lock.lock();
+        try {
+            return lane(lane).queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int inFlight(String lane) {
+        lock.lock();
+        try {
+            return lane(lane).inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes the next item to dispatch without blocking, counting it against its lane's budget until
+     * {@link #done} is called for that lane.
+     *
+     * @return null if no lane has both queued items and budget left
+     */
+    public Dispatch<T> poll() {
+        lock.lock();
+        try {
+            return takeNext();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Like {@link #poll()} but waits up to {@code timeout} for an item to become available.
+     */
+    public Dispatch<T> poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            Dispatch<T> dispatch;
+            while ((dispatch = takeNext()) == null) {
+                if (remaining <= 0) {
+                    return null;
+                }
+                remaining = available.awaitNanos(remaining);
+            }
+            return dispatch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns a dispatched item's slot to its lane's budget. */
+    public void done(String lane) {
+        lock.lock();
+        try {
+            lane(lane).inFlight--;
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Removes every queued item, e.g. to hand it back on shutdown. */
+    public Map<String, List<T>> drain() {
+        lock.lock();
+        try {
+            Map<String, List<T>> drained = new LinkedHashMap<>();
+            lanes.forEach((name, lane) -> {
+                List<T> items = new ArrayList<>(lane.queue.size());
+                lane.queue.forEach(queued -> items.add(queued.item()));
+                lane.queue.clear();
+                drained.put(name, items);
+            });
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Dispatch<T> takeNext() {
+        long now = nanoClock.getAsLong();
+        String chosen = null;
+        Lane<T> next = null;
+        boolean starving = false;
+        long oldestWait = -1;
+        for (Map.Entry<String, Lane<T>> entry : lanes.entrySet()) {
+            Lane<T> lane = entry.getValue();
+            if (lane.queue.isEmpty() || lane.inFlight >= lane.maxInFlight) {
+                continue;
+            }
+            long waited = now - lane.queue.peekFirst().enqueuedAt();
+            if (waited >= maxWaitNanos) {
+                if (!starving || waited > oldestWait) {
+                    chosen = entry.getKey();
+                    next = lane;
+                    oldestWait = waited;
+                }
+                starving = true;
+            } else if (!starving && (next == null || lane.pass < next.pass)) {
+                chosen = entry.getKey();
+                next = lane;
+            }
+        }
+        if (next == null) {
+            return null;
+        }
+
+        Queued<T> queued = next.queue.pollFirst();
+        virtualTime = Math.max(virtualTime, next.pass);
+        next.pass += next.stride;
+        next.inFlight++;
+        return new Dispatch<>(chosen, queued.item(), now - queued.enqueuedAt());
+    }
+
+    private Lane<T> lane(String name) {
+        Lane<T> lane = lanes.get(name);
+        if (lane == null) {
+            throw new IllegalArgumentException("Unknown lane " + name);
+        }
+        return lane;
+    }
+
+    public record Dispatch<T>(String lane, T item, long queuedNanos) {
+    }
+
+    private record Queued<T>(T item, long enqueuedAt) {
+    }
+
+    private static final class Lane<T> {
+        final double stride;
+        final int capacity;
+        final int maxInFlight;
+        final ArrayDeque<Queued<T>> queue = new ArrayDeque<>();
+        double pass;
+        int inFlight;
+
+        Lane(double stride, int capacity, int maxInFlight) {
+            this.stride = stride;
+            this.capacity = capacity;
+            this.maxInFlight = maxInFlight;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package pt.nelsonalmeida.notification.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import pt.nelsonalmeida.notification.config.ConcurrencyLimitProperties;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitFilterTest {
+
+    private static final String API_PATH = "/api/v1/notifications";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+
+    @Test
+    void rejectsWithRetryAfterWhileTheLimitIsReached() throws Exception {
+        properties.setRead(new ConcurrencyLimitProperties.Limit(1, 1, 1));
+        properties.setRetryAfter(Duration.ofSeconds(2));
+        ConcurrencyLimitFilter filter = filter();
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        AtomicBoolean reachedController = new AtomicBoolean();
+
+        // The second request arrives while the first one holds the only permit
+        filter.doFilter(new MockHttpServletRequest("GET", API_PATH), new MockHttpServletResponse(),
+                (request, response) -> filter.doFilter(new MockHttpServletRequest("GET", API_PATH + "/1"), rejected,
+                        (ignoredRequest, ignoredResponse) -> reachedController.set(true)));
+
+        assertThat(reachedController).isFalse();
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(rejected.getContentAsString()).contains("\"status\":429");
+        assertThat(meterRegistry.get("notification.api.concurrency.rejected").tag("kind", "read").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void serviceUnavailableFromTheChainBacksOff() throws Exception {
+        properties.setWrite(new ConcurrencyLimitProperties.Limit(10, 1, 10));
+        properties.setBackoffRatio(0.5);
+        properties.setMinWindow(Duration.ZERO);
+        ConcurrencyLimitFilter filter = filter();
+
+        filter.doFilter(new MockHttpServletRequest("POST", API_PATH), new MockHttpServletResponse(),
+                (request, response) -> ((MockHttpServletResponse) response).setStatus(503));
+
+        assertThat(gauge("notification.api.concurrency.limit", "write")).isEqualTo(5);
+        assertThat(gauge("notification.api.concurrency.in_flight", "write")).isZero();
+    }
+
+    @Test
+    void bulkChangesHaveTheirOwnLimit() throws Exception {
+        properties.setWrite(new ConcurrencyLimitProperties.Limit(10, 1, 10));
+        properties.setBulk(new ConcurrencyLimitProperties.Limit(1, 1, 4));
+        properties.setBackoffRatio(0.5);
+        properties.setMinWindow(Duration.ZERO);
+        ConcurrencyLimitFilter filter = filter();
+        MockHttpServletResponse single = new MockHttpServletResponse();
+        MockHttpServletResponse secondBulk = new MockHttpServletResponse();
+
+        // A long import holds the only bulk permit, then fails from overload
+        filter.doFilter(new MockHttpServletRequest("POST", API_PATH + "/bulk"), new MockHttpServletResponse(),
+                (request, response) -> {
+                    assertThat(gauge("notification.api.concurrency.in_flight", "bulk")).isEqualTo(1);
+                    assertThat(gauge("notification.api.concurrency.in_flight", "write")).isZero();
+                    filter.doFilter(new MockHttpServletRequest("POST", API_PATH), single,
+                            (ignoredRequest, ignoredResponse) -> { });
+                    filter.doFilter(new MockHttpServletRequest("PUT", API_PATH + "/bulk"), secondBulk,
+                            (ignoredRequest, ignoredResponse) -> { });
+                    ((MockHttpServletResponse) response).setStatus(503);
+                });
+
+        assertThat(single.getStatus()).isEqualTo(200);
+        assertThat(secondBulk.getStatus()).isEqualTo(429);
+        assertThat(gauge("notification.api.concurrency.limit", "write")).isEqualTo(10);
+        assertThat(gauge("notification.api.concurrency.in_flight", "bulk")).isZero();
+    }
+
+    @Test
+    void excludesWholePathSegmentsOnly() {
+        ConcurrencyLimitFilter filter = filter();
+
+        assertThat(filter.shouldNotFilter(new MockHttpServletRequest("GET", API_PATH + "/feed"))).isTrue();
+        assertThat(filter.shouldNotFilter(new MockHttpServletRequest("GET", API_PATH + "/export/csv"))).isTrue();
+        assertThat(filter.shouldNotFilter(new MockHttpServletRequest("GET", API_PATH + "/feedback"))).isFalse();
+        assertThat(filter.shouldNotFilter(new MockHttpServletRequest("GET", API_PATH))).isFalse();
+        assertThat(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/actuator/health"))).isTrue();
+    }
+
+    private ConcurrencyLimitFilter filter() {
+        return new ConcurrencyLimitFilter(properties, new ObjectMapper().findAndRegisterModules(), meterRegistry);
+    }
+
+    private double gauge(String name, String kind) {
+        return meterRegistry.get(name).tag("kind", kind).gauge().value();
+    }
+}
@@ -0,0 +1,48 @@
+package pt.nelsonalmeida.notification.events;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeyOrderedExecutorTest {
+
+    @Test
+    void keepsSubmissionOrderPerKey() throws InterruptedException {
+        List<Integer> processed = new CopyOnWriteArrayList<>();
+        KeyOrderedExecutor executor = new KeyOrderedExecutor("test-lane-", 4, 100);
+
+        for (int i = 0; i < 50; i++) {
+            int sequence = i;
+            executor.execute("reservation-1", () -> processed.add(sequence));
+        }
+        executor.shutdown(5, TimeUnit.SECONDS);
+
+        assertThat(processed).hasSize(50).isSorted();
+    }
+
+    @Test
+    void otherKeysAreNotBlockedBySlowKey() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch otherDone = new CountDownLatch(1);
+        KeyOrderedExecutor executor = new KeyOrderedExecutor("test-lane-", 2, 100);
+
+        // 0 and 1 hash to different lanes
+        executor.execute(0, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        executor.execute(1, otherDone::countDown);
+
+        assertThat(otherDone.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+        executor.shutdown(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,209 @@
+package pt.nelsonalmeida.notification.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.MountableFile;
+import pt.nelsonalmeida.notification.dto.NotificationSearchCriteria;
+import pt.nelsonalmeida.notification.util.KeysetCursor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards that every search filter combination is served by the index built for it. Sequential scans are priced out,
+ * but {@code idx_notification_sent_at_id} can still answer any search by walking the order and filtering, so each
+ * plan must use the index of a filter and seek on its column in the {@code Index Cond}.
+ * <p>
+ * The data is skewed like production, where failures and cancellations are rare and the searches look for them: with
+ * a filter matching a third of the rows, walking {@code sent_at} order is the better plan for a page of 50.
+ * Every partition holds rows, as the planner picks any ordered index for an empty one.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class NotificationSearchPlanTest {
+
+    private static final Pattern MIGRATION = Pattern.compile("V(\\d+)__.+\\.sql");
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = withMigrations(new PostgreSQLContainer<>("postgres:15-alpine"));
+
+    private static JdbcTemplate jdbcTemplate;
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    static void seed() {
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword(), true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                INSERT INTO notification (id, reservation_id, event_type, recipient, status, sent_at)
+                SELECT gen_random_uuid(), gen_random_uuid(),
+                       CASE WHEN i % 20 = 0 THEN 'CANCELLED' WHEN i % 20 < 8 THEN 'CREATED_PENDING' ELSE 'CONFIRMED' END,
+                       'guest' || i || '@example.com',
+                       CASE WHEN i % 97 = 0 THEN 'FAILED' WHEN i % 97 < 4 THEN 'PENDING' ELSE 'SENT' END,
+                       date_trunc('month', now()) + i * INTERVAL '200 seconds'
+                           + CASE WHEN i % 7 = 0 THEN INTERVAL '1 year' ELSE INTERVAL '0' END
+                FROM generate_series(1, 50000) AS i
+                """);
+        jdbcTemplate.execute("ANALYZE notification");
+        jdbcTemplate.execute("SET enable_seqscan = off");
+    }
+
+    static Stream<NotificationSearchCriteria> filterCombinations() {
+        LocalDateTime from = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+        List<NotificationSearchCriteria> combinations = new ArrayList<>();
+        for (String recipientFilter : new String[]{null, "exact", "prefix"}) {
+            for (String status : new String[]{null, "FAILED"}) {
+                for (String eventType : new String[]{null, "CANCELLED"}) {
+                    for (boolean range : new boolean[]{false, true}) {
+                        combinations.add(new NotificationSearchCriteria(
+                                "exact".equals(recipientFilter) ? "Guest42@example.com" : null,
+                                "prefix".equals(recipientFilter) ? "guest4242" : null,
+                                status,
+                                eventType,
+                                range ? from : null,
+                                range ? from.plusDays(2) : null));
+                    }
+                }
+            }
+        }
+        return combinations.stream();
+    }
+
+    @ParameterizedTest
+    @MethodSource("filterCombinations")
+    void firstPageUsesTheFilterIndex(NotificationSearchCriteria criteria) throws IOException {
+        assertServedBy(expectedIndexes(criteria), NotificationQueryRepository.searchQuery(criteria, null, 51));
+    }
+
+    @ParameterizedTest
+    @MethodSource("filterCombinations")
+    void nextPageUsesTheFilterIndex(NotificationSearchCriteria criteria) throws IOException {
+        KeysetCursor after = new KeysetCursor(LocalDateTime.now().withDayOfMonth(1).withHour(1), UUID.randomUUID());
+        assertServedBy(expectedIndexes(criteria), NotificationQueryRepository.searchQuery(criteria, after, 51));
+    }
+
+    /**
+     * The recipient index is the most selective; which of status and event type is rarer depends on the day, so
+     * either of their indexes may serve a search on both. Only a search on time alone belongs to {@code sent_at}.
+     */
+    private static List<SearchIndex> expectedIndexes(NotificationSearchCriteria criteria) {
+        if (criteria.recipient() != null || criteria.recipientPrefix() != null) {
+            return List.of(SearchIndex.RECIPIENT);
+        }
+        List<SearchIndex> expected = new ArrayList<>();
+        if (criteria.status() != null) {
+            expected.add(SearchIndex.STATUS);
+        }
+        if (criteria.eventType() != null) {
+            expected.add(SearchIndex.EVENT_TYPE);
+        }
+        if (expected.isEmpty()) {
+            expected.add(SearchIndex.SENT_AT);
+        }
+        return expected;
+    }
+
+    private static void assertServedBy(List<SearchIndex> expected, NotificationQueryRepository.SearchQuery query)
+            throws IOException {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + query.sql(), String.class,
+                query.args().toArray());
+        List<JsonNode> nodes = new ArrayList<>();
+        collectNodes(objectMapper.readTree(plan).get(0).get("Plan"), nodes);
+
+        assertThat(nodes).as("plan of %s", query.sql())
+                .noneMatch(node -> node.get("Node Type").asText().equals("Seq Scan"));
+        List<JsonNode> scans = nodes.stream().filter(node -> node.has("Index Name")).toList();
+        assertThat(scans).as("plan of %s", query.sql()).isNotEmpty();
+        for (JsonNode scan : scans) {
+            String indexName = scan.get("Index Name").asText();
+            SearchIndex index = SearchIndex.of(indexName);
+            assertThat(index).as("index %s for %s", indexName, query.sql()).isIn(expected);
+            // Only an unfiltered first page has nothing to seek on
+            if (query.args().size() > 1) {
+                assertThat(scan.path("Index Cond").asText())
+                        .as("Index Cond of %s for %s", indexName, query.sql())
+                        .contains(index.column);
+            }
+        }
+    }
+
+    private static void collectNodes(JsonNode node, List<JsonNode> nodes) {
+        nodes.add(node);
+        JsonNode children = node.get("Plans");
+        if (children != null) {
+            children.forEach(child -> collectNodes(child, nodes));
+        }
+    }
+
+    /**
+     * The search indexes by the column they seek on. Partitions name their copies of an index after its columns
+     * ({@code notification_p202501_status_sent_at_id_idx}), so both names are matched.
+     */
+    private enum SearchIndex {
+        RECIPIENT("recipient", "idx_notification_recipient_sent_at_id", "_lower_sent_at_id_idx"),
+        STATUS("status", "idx_notification_status_sent_at_id", "_status_sent_at_id_idx"),
+        EVENT_TYPE("event_type", "idx_notification_event_type_sent_at_id", "_event_type_sent_at_id_idx"),
+        SENT_AT("sent_at", "idx_notification_sent_at_id", "_sent_at_id_idx");
+
+        private final String column;
+        private final String parentName;
+        private final String partitionSuffix;
+
+        SearchIndex(String column, String parentName, String partitionSuffix) {
+            this.column = column;
+            this.parentName = parentName;
+            this.partitionSuffix = partitionSuffix;
+        }
+
+        static SearchIndex of(String indexName) {
+            // Longest suffixes first: every search index name ends with the sent_at index's suffix
+            for (SearchIndex index : List.of(RECIPIENT, STATUS, EVENT_TYPE)) {
+                if (index.matches(indexName)) {
+                    return index;
+                }
+            }
+            return SENT_AT.matches(indexName) ? SENT_AT : null;
+        }
+
+        private boolean matches(String indexName) {
+            return indexName.equals(parentName)
+                    || indexName.startsWith("notification_") && indexName.endsWith(partitionSuffix);
+        }
+    }
+
+    /** Runs the Flyway migrations in version order as container init scripts. */
+    private static PostgreSQLContainer<?> withMigrations(PostgreSQLContainer<?> container) {
+        try (Stream<Path> files = Files.list(Path.of("migrations"))) {
+            files.forEach(file -> {
+                Matcher matcher = MIGRATION.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    String initScript = "%03d_%s".formatted(Integer.parseInt(matcher.group(1)), file.getFileName());
+                    container.withCopyFileToContainer(MountableFile.forHostPath(file),
+                            "/docker-entrypoint-initdb.d/" + initScript);
+                }
+            });
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read migrations", e);
+        }
+        return container;
+    }
+}
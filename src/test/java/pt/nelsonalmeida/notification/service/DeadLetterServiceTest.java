@@ -0,0 +1,88 @@
+package pt.nelsonalmeida.notification.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pt.nelsonalmeida.notification.config.DeadLetterProperties;
+import pt.nelsonalmeida.notification.dto.DeadLetterFilter;
+import pt.nelsonalmeida.notification.events.ReservationTopics;
+import pt.nelsonalmeida.notification.model.DeadLetter;
+import pt.nelsonalmeida.notification.model.DeadLetterReplay;
+import pt.nelsonalmeida.notification.model.DeadLetterStatus;
+import pt.nelsonalmeida.notification.model.ReplayState;
+import pt.nelsonalmeida.notification.repository.DeadLetterReplayRepository;
+import pt.nelsonalmeida.notification.repository.DeadLetterRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DeadLetterServiceTest {
+
+    private final DeadLetterRepository deadLetterRepository = mock(DeadLetterRepository.class);
+    private final DeadLetterReplayRepository replayRepository = mock(DeadLetterReplayRepository.class);
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
+    private final DeadLetterProperties properties = new DeadLetterProperties();
+    private final DeadLetterService service = new DeadLetterService(deadLetterRepository, replayRepository,
+            kafkaTemplate, mock(ReservationTopics.class), new ObjectMapper(),
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), properties);
+
+    @Test
+    void releasesTheRecordsOfReplaysItAbandons() {
+        UUID dead = UUID.randomUUID();
+        UUID revived = UUID.randomUUID();
+        when(replayRepository.findStale(any())).thenReturn(List.of(dead, revived));
+        when(replayRepository.abandon(eq(dead), any(), any())).thenReturn(1);
+        // Its heartbeat moved between the lookup and the update
+        when(replayRepository.abandon(eq(revived), any(), any())).thenReturn(0);
+
+        service.releaseAbandonedReplays();
+
+        verify(deadLetterRepository).release(List.of(dead));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void replayStopsOnceItFindsItselfAbandoned() {
+        properties.setReplayRatePerSecond(1_000_000);
+        List<DeadLetter> letters = IntStream.range(0, 250)
+                .mapToObj(i -> DeadLetter.builder().id(UUID.randomUUID()).topic("reservation-created")
+                        .originalPartition(0).payload("{}").status(DeadLetterStatus.NEW).build())
+                .toList();
+        when(deadLetterRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(letters));
+        when(replayRepository.findById(any())).thenAnswer(invocation -> Optional.of(DeadLetterReplay.builder()
+                .id(invocation.getArgument(0)).state(ReplayState.RUNNING).total(letters.size()).build()));
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+        // A sweep took the replay over before its first progress update
+        when(replayRepository.recordProgress(any(), anyInt(), anyInt(), any())).thenReturn(0);
+
+        UUID replayId = service.replay(new DeadLetterFilter()).id();
+
+        verify(replayRepository, timeout(5_000)).finish(eq(replayId), eq(ReplayState.ABANDONED), any(LocalDateTime.class));
+        verify(deadLetterRepository).claim(anyCollection(), eq(replayId));
+        verify(kafkaTemplate, times(100)).send(any(ProducerRecord.class));
+        verify(deadLetterRepository, never()).updateStatus(anyCollection(), any(), any(), any());
+    }
+}
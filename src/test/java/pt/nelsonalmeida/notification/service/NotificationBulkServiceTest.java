@@ -0,0 +1,72 @@
+package pt.nelsonalmeida.notification.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pt.nelsonalmeida.notification.config.BulkProperties;
+import pt.nelsonalmeida.notification.dto.BulkResult;
+import pt.nelsonalmeida.notification.dto.NotificationRequest;
+import pt.nelsonalmeida.notification.mapper.NotificationMapper;
+import pt.nelsonalmeida.notification.repository.NotificationQueryRepository;
+import pt.nelsonalmeida.notification.repository.NotificationRepository;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationBulkServiceTest {
+
+    private final NotificationService notificationService = mock(NotificationService.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final BulkProperties properties = new BulkProperties();
+
+    private NotificationBulkService service() {
+        return new NotificationBulkService(notificationService, mock(NotificationRepository.class),
+                mock(NotificationQueryRepository.class), new NotificationMapper(), entityManager,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), mock(ApplicationEventPublisher.class),
+                Validation.buildDefaultValidatorFactory().getValidator(), Jackson2ObjectMapperBuilder.json().build(),
+                properties);
+    }
+
+    private static ByteArrayInputStream json(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void createsValidItemsInChunksAndReportsInvalidOnes() {
+        properties.setChunkSize(2);
+        List<List<NotificationRequest>> chunks = new ArrayList<>();
+        when(notificationService.createNotifications(anyList())).then(invocation -> {
+            chunks.add(List.copyOf(invocation.getArgument(0)));
+            return List.of();
+        });
+        String valid = """
+                {"reservationId":"%s","eventType":"CONFIRMED","recipient":"ana@example.com"}""".formatted(UUID.randomUUID());
+
+        BulkResult result = service().createAll(json("""
+                [%s, {"reservationId":"%s","eventType":"CONFIRMED","recipient":"not-an-email"},
+                 %s, {"reservationId":"nope","eventType":"CONFIRMED","recipient":"ana@example.com"}, %s]
+                """.formatted(valid, UUID.randomUUID(), valid, valid)));
+
+        assertThat(result.getTotal()).isEqualTo(5);
+        assertThat(result.getSucceeded()).isEqualTo(3);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(BulkResult.ItemError::index).containsExactly(1, 3);
+        assertThat(result.getErrors().get(0).message()).startsWith("recipient:");
+        assertThat(chunks).extracting(List::size).containsExactly(2, 1);
+        verify(entityManager, times(2)).clear();
+    }
+}
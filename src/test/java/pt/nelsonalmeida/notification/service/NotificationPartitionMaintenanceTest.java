@@ -0,0 +1,53 @@
+package pt.nelsonalmeida.notification.service;
+
+import org.junit.jupiter.api.Test;
+import pt.nelsonalmeida.notification.config.PartitioningProperties.Granularity;
+import pt.nelsonalmeida.notification.service.NotificationPartitionMaintenance.PartitionRange;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotificationPartitionMaintenanceTest {
+
+    private static PartitionRange month(int year, int month) {
+        LocalDateTime from = LocalDate.of(year, month, 1).atStartOfDay();
+        return new PartitionRange("notification_p%d%02d".formatted(year, month), from, from.plusMonths(1));
+    }
+
+    @Test
+    void parsesRangeBoundAndSkipsDefault() {
+        PartitionRange range = NotificationPartitionMaintenance.parseBound("notification_p202503",
+                "FOR VALUES FROM ('2025-03-01 00:00:00') TO ('2025-04-01 00:00:00')");
+
+        assertThat(range).isEqualTo(month(2025, 3));
+        assertThat(NotificationPartitionMaintenance.parseBound("notification_default", "DEFAULT")).isNull();
+    }
+
+    @Test
+    void createsOnlyMonthsNotCoveredYet() {
+        List<PartitionRange> missing = NotificationPartitionMaintenance.missingPartitions(
+                List.of(month(2025, 3), month(2025, 4)), Granularity.MONTHLY, LocalDate.of(2025, 3, 17), 3);
+
+        assertThat(missing).containsExactly(month(2025, 5), month(2025, 6));
+    }
+
+    @Test
+    void dailyPartitionsDoNotOverlapAnExistingMonth() {
+        List<PartitionRange> missing = NotificationPartitionMaintenance.missingPartitions(
+                List.of(month(2025, 3)), Granularity.DAILY, LocalDate.of(2025, 3, 30), 3);
+
+        assertThat(missing).extracting(PartitionRange::name)
+                .containsExactly("notification_p20250401", "notification_p20250402");
+    }
+
+    @Test
+    void expiresPartitionsEntirelyBeforeCutoff() {
+        List<PartitionRange> expired = NotificationPartitionMaintenance.expiredPartitions(
+                List.of(month(2025, 1), month(2025, 2), month(2025, 3)), LocalDate.of(2025, 3, 1).atStartOfDay());
+
+        assertThat(expired).containsExactly(month(2025, 1), month(2025, 2));
+    }
+}
@@ -0,0 +1,83 @@
+package pt.nelsonalmeida.notification.service;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pt.nelsonalmeida.notification.config.StatsProperties;
+import pt.nelsonalmeida.notification.dto.NotificationSnapshot;
+import pt.nelsonalmeida.notification.dto.NotificationStatsBucket;
+import pt.nelsonalmeida.notification.events.NotificationChangedEvent;
+import pt.nelsonalmeida.notification.repository.NotificationStatsRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class NotificationStatsServiceTest {
+
+    private static final LocalDateTime HOUR = LocalDateTime.of(2026, 3, 1, 10, 0);
+
+    private final NotificationStatsRepository repository = mock(NotificationStatsRepository.class);
+    private final NotificationStatsService service = new NotificationStatsService(repository,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), new StatsProperties());
+    private final List<List<NotificationStatsBucket>> flushed = new ArrayList<>();
+
+    private static NotificationSnapshot pending(String eventType) {
+        return new NotificationSnapshot(UUID.randomUUID(), UUID.randomUUID(), "ana.silva@example.com",
+                eventType, "PENDING", HOUR.plusMinutes(42));
+    }
+
+    @Test
+    void flushesNetDeltasPerHourTypeAndStatus() {
+        doAnswer(invocation -> flushed.add(List.copyOf(invocation.getArgument(0)))).when(repository).addAll(anyList());
+        NotificationSnapshot confirmed = pending("CONFIRMED");
+        NotificationSnapshot cancelled = pending("CANCELLED");
+
+        service.onNotificationChanged(NotificationChangedEvent.created(confirmed));
+        service.onNotificationChanged(NotificationChangedEvent.created(cancelled));
+        service.onNotificationChanged(NotificationChangedEvent.updated(confirmed, confirmed.withStatus("SENT")));
+        service.onNotificationChanged(NotificationChangedEvent.deleted(cancelled));
+        service.flush();
+        service.flush();
+
+        assertThat(flushed).containsExactly(List.of(
+                new NotificationStatsBucket(HOUR, "CONFIRMED", "SENT", 1)));
+    }
+
+    @Test
+    void keepsDeltasWhenFlushFails() {
+        doThrow(new DataAccessResourceFailureException("down")).when(repository).addAll(anyList());
+        service.onNotificationChanged(NotificationChangedEvent.created(pending("CONFIRMED")));
+        service.flush();
+
+        doAnswer(invocation -> flushed.add(List.copyOf(invocation.getArgument(0)))).when(repository).addAll(anyList());
+        service.flush();
+
+        assertThat(flushed).containsExactly(List.of(
+                new NotificationStatsBucket(HOUR, "CONFIRMED", "PENDING", 1)));
+    }
+
+    @Test
+    void recountsSettledHoursOfTheWindowOnly() {
+        ArgumentCaptor<LocalDateTime> from = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> to = ArgumentCaptor.forClass(LocalDateTime.class);
+
+        service.reconcile();
+
+        verify(repository).recount(from.capture(), to.capture());
+        assertThat(to.getValue()).isEqualTo(to.getValue().truncatedTo(ChronoUnit.HOURS))
+                .isBeforeOrEqualTo(LocalDateTime.now().minusHours(1));
+        assertThat(from.getValue()).isEqualTo(to.getValue().minusHours(48));
+    }
+}
@@ -0,0 +1,87 @@
+package pt.nelsonalmeida.notification.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import pt.nelsonalmeida.notification.config.OutboxProperties;
+import pt.nelsonalmeida.notification.model.OutboxMessage;
+import pt.nelsonalmeida.notification.model.OutboxStatus;
+import pt.nelsonalmeida.notification.repository.NotificationWriteRepository;
+import pt.nelsonalmeida.notification.repository.OutboxRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxServiceTest {
+
+    private final OutboxRepository outboxRepository = mock(OutboxRepository.class);
+    private final NotificationWriteRepository notificationWriteRepository = mock(NotificationWriteRepository.class);
+    private final OutboxService service = new OutboxService(outboxRepository, notificationWriteRepository,
+            new OutboxProperties(), mock(ApplicationEventPublisher.class));
+
+    @Test
+    void appliesTheResultOfTheCurrentClaim() {
+        OutboxMessage message = stored(OutboxStatus.PROCESSING, 1);
+
+        service.complete(List.of(OutboxService.DeliveryResult.sent(claimedAs(message, 1))));
+
+        assertThat(message.getStatus()).isEqualTo(OutboxStatus.SENT);
+        verify(notificationWriteRepository).updateStatuses(eq(List.of(message.getNotificationId())), eq("SENT"));
+    }
+
+    @Test
+    void lateErrorDoesNotReopenAMessageSentByALaterClaim() {
+        OutboxMessage message = stored(OutboxStatus.SENT, 2);
+
+        service.complete(List.of(OutboxService.DeliveryResult.failed(claimedAs(message, 1),
+                new IllegalStateException("timeout"))));
+
+        assertThat(message.getStatus()).isEqualTo(OutboxStatus.SENT);
+        assertThat(message.getLastError()).isNull();
+        verify(notificationWriteRepository, never()).updateStatuses(anyList(), any());
+    }
+
+    @Test
+    void lateDeferralKeepsTheAttemptOfTheCurrentClaim() {
+        OutboxMessage message = stored(OutboxStatus.PROCESSING, 3);
+        LocalDateTime lease = message.getAvailableAt();
+
+        service.complete(List.of(OutboxService.DeliveryResult.deferred(claimedAs(message, 2), Duration.ofSeconds(5))));
+
+        assertThat(message.getStatus()).isEqualTo(OutboxStatus.PROCESSING);
+        assertThat(message.getAttempts()).isEqualTo(3);
+        assertThat(message.getAvailableAt()).isEqualTo(lease);
+    }
+
+    private OutboxMessage stored(OutboxStatus status, int attempts) {
+        OutboxMessage message = OutboxMessage.builder()
+                .id(UUID.randomUUID())
+                .notificationId(UUID.randomUUID())
+                .status(status)
+                .attempts(attempts)
+                .availableAt(LocalDateTime.now().plusMinutes(1))
+                .build();
+        when(outboxRepository.lockAllById(List.of(message.getId()))).thenReturn(List.of(message));
+        return message;
+    }
+
+    /** The copy a dispatcher held while delivering under the claim that made {@code attempt}. */
+    private static OutboxMessage claimedAs(OutboxMessage stored, int attempt) {
+        return OutboxMessage.builder()
+                .id(stored.getId())
+                .notificationId(stored.getNotificationId())
+                .status(OutboxStatus.PROCESSING)
+                .attempts(attempt)
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package pt.nelsonalmeida.notification.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AdaptiveConcurrencyLimit limit =
+            new AdaptiveConcurrencyLimit(10, 2, 100, 1.5, 1.0, 0.5, 10, 10 * MILLI, clock::get);
+
+    @Test
+    void rejectsBeyondLimitUntilReleased() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+        }
+        assertThat(limit.tryAcquire()).isFalse();
+
+        limit.release(MILLI, false);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.inFlight()).isEqualTo(10);
+    }
+
+    @Test
+    void growsWhileLatencyIsSteadyAndShrinksWhenItRises() {
+        window(10 * MILLI);
+        window(10 * MILLI);
+        int grown = limit.limit();
+        assertThat(grown).isGreaterThan(10);
+
+        window(100 * MILLI);
+
+        assertThat(limit.limit()).isLessThan(grown);
+    }
+
+    @Test
+    void backsOffOnOverload() {
+        clock.addAndGet(10 * MILLI);
+        limit.tryAcquire();
+
+        limit.release(MILLI, true);
+
+        assertThat(limit.limit()).isEqualTo(5);
+    }
+
+    @Test
+    void staysPutWhileMostlyIdle() {
+        for (int i = 0; i < 3; i++) {
+            clock.addAndGet(10 * MILLI);
+            for (int j = 0; j < 10; j++) {
+                limit.tryAcquire();
+                limit.release(10 * MILLI, false);
+            }
+        }
+
+        assertThat(limit.limit()).isEqualTo(10);
+    }
+
+    /** One full window with every slot of the current limit in use. */
+    private void window(long rttNanos) {
+        clock.addAndGet(10 * MILLI);
+        int concurrent = limit.limit();
+        for (int i = 0; i < concurrent; i++) {
+            limit.tryAcquire();
+        }
+        for (int i = 0; i < concurrent; i++) {
+            limit.release(rttNanos, false);
+        }
+    }
+}
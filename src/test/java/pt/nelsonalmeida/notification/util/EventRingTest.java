@@ -0,0 +1,32 @@
+package pt.nelsonalmeida.notification.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventRingTest {
+
+    @Test
+    void returnsMatchingEventsAfterSequence() {
+        EventRing<String> ring = new EventRing<>(8);
+        for (String event : new String[]{"a1", "b1", "a2", "b2", "a3"}) {
+            ring.append(event);
+        }
+
+        assertThat(ring.since(1, event -> event.startsWith("a"))).containsExactly("a2", "a3");
+        assertThat(ring.since(5, event -> true)).isEmpty();
+        assertThat(ring.lastSequence()).isEqualTo(5);
+    }
+
+    @Test
+    void reportsOverwrittenOrUnknownPositions() {
+        EventRing<Integer> ring = new EventRing<>(3);
+        for (int i = 1; i <= 5; i++) {
+            ring.append(i);
+        }
+
+        assertThat(ring.since(2, event -> true)).containsExactly(3, 4, 5);
+        assertThat(ring.since(1, event -> true)).isNull();
+        assertThat(ring.since(6, event -> true)).isNull();
+    }
+}
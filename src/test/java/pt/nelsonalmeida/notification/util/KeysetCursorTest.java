@@ -0,0 +1,29 @@
+package pt.nelsonalmeida.notification.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class KeysetCursorTest {
+
+    @Test
+    void roundTripsThroughToken() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2026, 3, 1, 12, 30, 15, 123_000), UUID.randomUUID());
+
+        assertThat(KeysetCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void rejectsRowWithoutSentAt() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new KeysetCursor(null, UUID.randomUUID()));
+    }
+
+    @Test
+    void rejectsMalformedToken() {
+        assertThatIllegalArgumentException().isThrownBy(() -> KeysetCursor.decode("not-a-cursor"));
+    }
+}
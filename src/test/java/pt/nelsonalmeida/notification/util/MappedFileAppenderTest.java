@@ -0,0 +1,44 @@
+package pt.nelsonalmeida.notification.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedFileAppenderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void appendsAcrossRegionsAndTrimsOnClose() throws Exception {
+        Path file = directory.resolve("sink.log");
+        StringBuilder expected = new StringBuilder();
+        try (MappedFileAppender appender = new MappedFileAppender(file, 16)) {
+            for (int i = 0; i < 10; i++) {
+                String line = "message-" + i + "\n";
+                appender.append(line.getBytes(StandardCharsets.UTF_8));
+                expected.append(line);
+            }
+            assertThat(appender.size()).isEqualTo(expected.length());
+        }
+
+        assertThat(Files.readString(file)).isEqualTo(expected.toString());
+    }
+
+    @Test
+    void continuesAfterExistingContent() throws Exception {
+        Path file = directory.resolve("sink.log");
+        Files.writeString(file, "first\n");
+
+        try (MappedFileAppender appender = new MappedFileAppender(file, 1024)) {
+            appender.append("second\n".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertThat(Files.readString(file)).isEqualTo("first\nsecond\n");
+    }
+}
@@ -0,0 +1,48 @@
+package pt.nelsonalmeida.notification.util;
+
+import org.junit.jupiter.api.Test;
+import pt.nelsonalmeida.notification.dto.NotificationRequest;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class MessageTemplateTest {
+
+    private static final UUID RESERVATION_ID = UUID.fromString("7f1c3c1e-2a4b-4c7e-9a51-3f0e2b8d6a10");
+
+    @Test
+    void rendersFieldsAndSkipsSectionsOfMissingOnes() {
+        MessageTemplate template = MessageTemplate.compile(
+                "Reservation {{reservationId}} cancelled.{{#reason}} Reason: {{reason}}{{/reason}}", Locale.ENGLISH);
+        NotificationRequest request = NotificationRequest.builder().reservationId(RESERVATION_ID).build();
+
+        assertThat(template.render(request)).isEqualTo("Reservation " + RESERVATION_ID + " cancelled.");
+        request.setReason("Kitchen closed");
+        assertThat(template.render(request)).isEqualTo("Reservation " + RESERVATION_ID + " cancelled. Reason: Kitchen closed");
+    }
+
+    @Test
+    void formatsDatesForTheTemplateLocale() {
+        NotificationRequest request = NotificationRequest.builder()
+                .scheduledAt(LocalDateTime.of(2025, 3, 14, 20, 30))
+                .numberOfPeople(4)
+                .build();
+
+        assertThat(MessageTemplate.compile("{{numberOfPeople}} on {{scheduledAt}}", Locale.UK).render(request))
+                .isEqualTo("4 on 14 March 2025, 20:30");
+        assertThat(MessageTemplate.compile("{{scheduledAt}}", Locale.forLanguageTag("pt-PT")).render(request))
+                .startsWith("14 de março de 2025");
+    }
+
+    @Test
+    void rejectsUnknownFieldsAndUnbalancedSections() {
+        assertThatIllegalArgumentException().isThrownBy(() -> MessageTemplate.compile("{{guests}}", Locale.ENGLISH));
+        assertThatIllegalArgumentException().isThrownBy(() -> MessageTemplate.compile("{{#reason}}x", Locale.ENGLISH));
+        assertThatIllegalArgumentException().isThrownBy(() -> MessageTemplate.compile("x{{/reason}}", Locale.ENGLISH));
+        assertThatIllegalArgumentException().isThrownBy(() -> MessageTemplate.compile("{{reason", Locale.ENGLISH));
+    }
+}
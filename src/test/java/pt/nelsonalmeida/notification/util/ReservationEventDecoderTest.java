@@ -0,0 +1,79 @@
+package pt.nelsonalmeida.notification.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import pt.nelsonalmeida.notification.dto.MessageEnvelope;
+import pt.nelsonalmeida.notification.dto.ReservationCancelledEvent;
+import pt.nelsonalmeida.notification.dto.ReservationConfirmedEvent;
+import pt.nelsonalmeida.notification.dto.ReservationCreatedEvent;
+import pt.nelsonalmeida.notification.dto.ReservationEventType;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReservationEventDecoderTest {
+
+    private static final UUID MESSAGE_ID = UUID.fromString("0f8fad5b-d9cb-469f-a165-70867728950e");
+    private static final UUID RESERVATION_ID = UUID.fromString("7c9e6679-7425-40de-944b-e07fc1f90ae7");
+
+    private final ReservationEventDecoder decoder = new ReservationEventDecoder(Jackson2ObjectMapperBuilder.json().build());
+
+    @Test
+    void bindsPayloadFromTypeHeader() {
+        String json = """
+                {"messageId":"%s","type":"ReservationCancelled","timestamp":"2025-03-01T10:15:30Z",
+                 "correlationId":"c-1","causationId":null,
+                 "payload":{"reservationId":"%s","customerEmail":"ana@example.com","numberOfPeople":4,
+                            "scheduledAt":"2025-03-02T20:00:00","reason":"Sick","cancelDate":"2025-03-01T10:15:00"}}
+                """.formatted(MESSAGE_ID, RESERVATION_ID);
+
+        MessageEnvelope<Object> envelope = decoder.decode(json, ReservationEventType.CREATED);
+
+        assertThat(envelope.getMessageId()).isEqualTo(MESSAGE_ID);
+        assertThat(envelope.getTimestamp()).isEqualTo(Instant.parse("2025-03-01T10:15:30Z"));
+        assertThat(envelope.getCorrelationId()).isEqualTo("c-1");
+        assertThat(envelope.getPayload()).isInstanceOfSatisfying(ReservationCancelledEvent.class, event -> {
+            assertThat(event.getReservationId()).isEqualTo(RESERVATION_ID);
+            assertThat(event.getScheduledAt()).isEqualTo(LocalDateTime.of(2025, 3, 2, 20, 0));
+            assertThat(event.getReason()).isEqualTo("Sick");
+        });
+    }
+
+    @Test
+    void bindsPayloadThatPrecedesTypeHeader() {
+        String json = """
+                {"payload":{"reservationId":"%s","customerEmail":"ana@example.com"},"type":"CONFIRMED"}
+                """.formatted(RESERVATION_ID);
+
+        assertThat(decoder.decode(json, null).getPayload()).isInstanceOf(ReservationConfirmedEvent.class);
+    }
+
+    @Test
+    void fallsBackToTopicTypeWhenHeaderIsMissingOrUnknown() {
+        String missing = """
+                {"payload":{"reservationId":"%s","customerEmail":"ana@example.com"}}
+                """.formatted(RESERVATION_ID);
+        String unknown = """
+                {"type":"SomethingElse","payload":{"reservationId":"%s","unexpected":true}}
+                """.formatted(RESERVATION_ID);
+
+        assertThat(decoder.decode(missing, ReservationEventType.CREATED).getPayload())
+                .isInstanceOf(ReservationCreatedEvent.class);
+        assertThat(decoder.decode(unknown, ReservationEventType.CREATED).getPayload())
+                .isInstanceOf(ReservationCreatedEvent.class);
+    }
+
+    @Test
+    void rejectsUnresolvableAndMalformedMessages() {
+        assertThatThrownBy(() -> decoder.decode("{\"type\":\"Other\",\"payload\":{}}", null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> decoder.decode("[1,2]", ReservationEventType.CREATED))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> decoder.decode("{\"payload\":", ReservationEventType.CREATED))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,58 @@
+package pt.nelsonalmeida.notification.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class UuidV7Test {
+
+    private static final long MILLIS = Instant.parse("2025-03-14T20:30:00Z").toEpochMilli();
+
+    @Test
+    void encodesVersionVariantAndTimestamp() {
+        UUID id = new UuidV7.State().next(MILLIS);
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(UuidV7.timestamp(id)).isEqualTo(Instant.ofEpochMilli(MILLIS));
+    }
+
+    @Test
+    void increasesWithinOneMillisecondAndPastCounterOverflow() {
+        UuidV7.State state = new UuidV7.State();
+        UUID previous = state.next(MILLIS);
+        for (int i = 0; i < 10_000; i++) {
+            UUID next = state.next(MILLIS);
+            assertThat(next).isGreaterThan(previous);
+            assertThat(next.toString()).isGreaterThan(previous.toString());
+            previous = next;
+        }
+
+        assertThat(UuidV7.timestamp(previous)).isAfter(Instant.ofEpochMilli(MILLIS));
+    }
+
+    @Test
+    void staysMonotonicWhenTheClockGoesBack() {
+        UuidV7.State state = new UuidV7.State();
+        UUID first = state.next(MILLIS);
+
+        assertThat(state.next(MILLIS - 1_000)).isGreaterThan(first);
+    }
+
+    @Test
+    void lowerBoundSortsBeforeIdsOfThatMillisecond() {
+        UUID id = new UuidV7.State().next(MILLIS);
+
+        assertThat(UuidV7.lowerBound(Instant.ofEpochMilli(MILLIS))).isLessThanOrEqualTo(id);
+        assertThat(UuidV7.lowerBound(Instant.ofEpochMilli(MILLIS + 1))).isGreaterThan(id);
+    }
+
+    @Test
+    void rejectsRandomUuids() {
+        assertThatIllegalArgumentException().isThrownBy(() -> UuidV7.timestamp(UUID.randomUUID()));
+    }
+}
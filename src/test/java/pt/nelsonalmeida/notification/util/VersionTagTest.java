@@ -0,0 +1,28 @@
+package pt.nelsonalmeida.notification.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class VersionTagTest {
+
+    @Test
+    void roundTripsVersion() {
+        assertThat(VersionTag.parseIfMatch(VersionTag.format(42))).isEqualTo(42L);
+    }
+
+    @Test
+    void absentOrWildcardMeansUnconditional() {
+        assertThat(VersionTag.parseIfMatch(null)).isNull();
+        assertThat(VersionTag.parseIfMatch(" ")).isNull();
+        assertThat(VersionTag.parseIfMatch("*")).isNull();
+    }
+
+    @Test
+    void rejectsWeakAndForeignTags() {
+        assertThatIllegalArgumentException().isThrownBy(() -> VersionTag.parseIfMatch("W/\"3\""));
+        assertThatIllegalArgumentException().isThrownBy(() -> VersionTag.parseIfMatch("3"));
+        assertThatIllegalArgumentException().isThrownBy(() -> VersionTag.parseIfMatch("\"abc\""));
+    }
+}
@@ -0,0 +1,95 @@
+package pt.nelsonalmeida.notification.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WeightedLaneQueueTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void servesBusyLanesInProportionToTheirWeight() {
+        WeightedLaneQueue<Integer> queue = new WeightedLaneQueue<>(Duration.ofHours(1), clock::get);
+        queue.addLane("urgent", 4, 1_000, 1_000);
+        queue.addLane("bulk", 1, 1_000, 1_000);
+        for (int i = 0; i < 500; i++) {
+            queue.offer("urgent", i);
+            queue.offer("bulk", i);
+        }
+
+        Map<String, Integer> served = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            served.merge(queue.poll().lane(), 1, Integer::sum);
+        }
+
+        assertThat(served).containsEntry("urgent", 80).containsEntry("bulk", 20);
+    }
+
+    @Test
+    void idleLaneDoesNotBankTurnsWhileEmpty() {
+        WeightedLaneQueue<Integer> queue = new WeightedLaneQueue<>(Duration.ofHours(1), clock::get);
+        queue.addLane("a", 1, 1_000, 1_000);
+        queue.addLane("b", 1, 1_000, 1_000);
+        for (int i = 0; i < 100; i++) {
+            queue.offer("a", i);
+        }
+        for (int i = 0; i < 50; i++) {
+            queue.poll();
+        }
+
+        for (int i = 0; i < 10; i++) {
+            queue.offer("b", i);
+        }
+        Map<String, Integer> served = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            served.merge(queue.poll().lane(), 1, Integer::sum);
+        }
+
+        assertThat(served).containsEntry("a", 5).containsEntry("b", 5);
+    }
+
+    @Test
+    void starvingLaneIsServedFirst() {
+        WeightedLaneQueue<Integer> queue = new WeightedLaneQueue<>(Duration.ofSeconds(30), clock::get);
+        queue.addLane("urgent", 1_000, 1_000, 1_000);
+        queue.addLane("bulk", 1, 1_000, 1_000);
+        queue.offer("bulk", 0);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        for (int i = 0; i < 10; i++) {
+            queue.offer("urgent", i);
+        }
+
+        WeightedLaneQueue.Dispatch<Integer> next = queue.poll();
+
+        assertThat(next.lane()).isEqualTo("bulk");
+        assertThat(next.queuedNanos()).isEqualTo(TimeUnit.SECONDS.toNanos(31));
+        assertThat(queue.poll().lane()).isEqualTo("urgent");
+    }
+
+    @Test
+    void enforcesCapacityAndInFlightBudget() {
+        WeightedLaneQueue<Integer> queue = new WeightedLaneQueue<>(Duration.ofSeconds(30), clock::get);
+        queue.addLane("lane", 1, 3, 2);
+
+        assertThat(queue.offer("lane", 1)).isTrue();
+        assertThat(queue.offer("lane", 2)).isTrue();
+        assertThat(queue.offer("lane", 3)).isTrue();
+        assertThat(queue.offer("lane", 4)).isFalse();
+
+        assertThat(queue.poll()).isNotNull();
+        assertThat(queue.poll()).isNotNull();
+        assertThat(queue.poll()).isNull();
+        assertThat(queue.inFlight("lane")).isEqualTo(2);
+
+        queue.done("lane");
+        assertThat(queue.poll().item()).isEqualTo(3);
+        assertThat(queue.depth("lane")).isZero();
+    }
+}